@@ -0,0 +1,116 @@
+package com.example.board.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 요청 실행 방식(board.execution.mode)별 처리량 비교.
+// 모드마다 게시판 앱(bootJar)을 새로 띄우고, 모든 쿼리에 db-latency-ms 지연을 넣은 채(board.load-test.db-latency-ms) 같은 부하를 보낸다.
+// 실제 Tomcat, RequestExecution(async 모드의 제한된 풀과 503 거절)을 그대로 거치므로 503은 errors로 센다.
+// virtual 모드는 앱을 실행할 JDK가 21 미만이면 건너뛴다.
+//   --app-jar       : 게시판 앱 bootJar (Gradle 태스크가 지정한다)
+//   --modes         : 기본 platform,async,virtual
+//   --db-latency-ms : 기본 50
+//   --port          : 앱을 띄울 포트 (기본 18080)
+// 나머지 인자(--concurrency, --duration, --warmup, --mix, --users, --boards)는 LoadTest와 같다.
+// 앱은 기본 설정의 DB(application.yml)에 연결하므로 Seeder로 데이터를 넣어 둔다.
+public final class CompareExecutionModes {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private CompareExecutionModes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String appJar = options.get("app-jar", System.getProperty("board.app-jar"));
+        if (appJar == null || !new File(appJar).isFile()) {
+            throw new IllegalArgumentException("게시판 앱 jar를 찾을 수 없습니다: " + appJar + " (./gradlew bootJar)");
+        }
+        int port = options.getInt("port", 18080);
+        int latencyMs = options.getInt("db-latency-ms", 50);
+        int concurrency = options.getInt("concurrency", 200);
+        long warmupNanos = Duration.ofSeconds(options.getInt("warmup", 10)).toNanos();
+        long durationNanos = Duration.ofSeconds(options.getInt("duration", 30)).toNanos();
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Map<String, Map<String, Samples>> results = new LinkedHashMap<>();
+        for (String mode : options.get("modes", "platform,async,virtual").split(",")) {
+            if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+                System.out.printf("%nskip virtual: JDK %d does not support virtual threads%n", Runtime.version().feature());
+                continue;
+            }
+            System.out.printf("%n== board.execution.mode=%s, db latency %d ms ==%n", mode, latencyMs);
+            Process app = start(java, appJar, port, mode, latencyMs);
+            try {
+                awaitReady(app, port);
+                Options loadOptions = options.with("base-url", "http://localhost:" + port)
+                        .withDefault("mix", "list=50,deep=25,board=25");
+                Map<String, Samples> result = new LoadTest(loadOptions).run(concurrency, warmupNanos, durationNanos);
+                LoadTest.report(result, durationNanos);
+                results.put(mode, result);
+            } finally {
+                app.destroy();
+                app.waitFor();
+            }
+        }
+        summary(results, durationNanos);
+    }
+
+    private static Process start(String java, String appJar, int port, String mode, int latencyMs) throws IOException {
+        List<String> command = new ArrayList<>(List.of(java, "-jar", appJar,
+                "--server.port=" + port,
+                "--board.execution.mode=" + mode,
+                "--board.load-test.db-latency-ms=" + latencyMs,
+                "--board.rate-limit.enabled=false"));
+        File log = new File("build/execution-mode-" + mode + ".log");
+        log.getParentFile().mkdirs();
+        System.out.println("app log: " + log.getAbsolutePath());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    // /actuator/health가 200을 돌려줄 때까지 기다린다.
+    private static void awaitReady(Process app, int port) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("게시판 앱이 종료되었습니다. exit code " + app.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // 아직 포트를 열지 않았다.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("게시판 앱이 " + STARTUP_TIMEOUT.toSeconds() + "초 안에 준비되지 않았습니다.");
+    }
+
+    private static void summary(Map<String, Map<String, Samples>> results, long durationNanos) {
+        double seconds = durationNanos / 1_000_000_000.0;
+        System.out.printf("%n%-10s %10s %8s %10s %10s%n", "mode", "req/s", "errors", "p50 ms", "p99 ms");
+        results.forEach((mode, result) -> {
+            Samples total = new Samples();
+            result.values().forEach(total::addAll);
+            total.sort();
+            System.out.printf("%-10s %10.1f %8d %10.2f %10.2f%n", mode, total.size() / seconds, total.errors(),
+                    total.percentileMillis(50), total.percentileMillis(99));
+        });
+    }
+}
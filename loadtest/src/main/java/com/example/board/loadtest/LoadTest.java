@@ -0,0 +1,228 @@
+package com.example.board.loadtest;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 실행 중인 게시판 앱에 요청 비율(mix)대로 요청을 보내고 요청 종류별 처리량과 응답 시간 분포를 출력한다.
+// concurrency개의 가상 사용자가 각자 쿠키(로그인 상태)를 가지고 응답을 받자마자 다음 요청을 보낸다. (closed model)
+// write 요청이 있으면 가상 사용자는 시작할 때 Seeder가 만든 회원(user{n}@example.com)으로 로그인한다.
+// 이 로그인이 실패하면(암호나 회원 수가 맞지 않으면) 모든 가상 사용자를 멈추고 실패로 끝낸다.
+// warmup 동안의 요청은 결과에 넣지 않는다.
+//   --base-url     (기본 http://localhost:8080)
+//   --duration, --warmup : 초
+//   --concurrency  : 가상 사용자 수
+//   --mix          : 요청 종류=비율. list(/), deep(/?page=N 뒤쪽 절반), board(/board), login(/login), write(/write)
+//   --users, --boards : Seeder로 넣은 회원 수, 글 수 (요청할 id, 페이지 범위)
+//   --login-password
+// 앱의 요청 수 제한(board.rate-limit)에 걸리지 않도록 앱은 --board.rate-limit.enabled=false로 실행한다.
+public final class LoadTest {
+    private static final List<String> ENDPOINTS = List.of("list", "deep", "board", "login", "write");
+
+    private final String baseUrl;
+    private final int users;
+    private final int boards;
+    private final String loginPassword;
+    private final Map<String, Integer> mix;
+    private final int mixTotal;
+    private volatile String failure; // 처음 로그인에 실패한 이유. 있으면 모든 가상 사용자가 멈춘다.
+
+    LoadTest(Options options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.users = options.getInt("users", 100_000);
+        this.boards = options.getInt("boards", 1_000_000);
+        this.loginPassword = options.get("login-password", "password");
+        this.mix = parseMix(options.get("mix", "list=40,deep=10,board=40,login=5,write=5"));
+        this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        int concurrency = options.getInt("concurrency", 50);
+        long warmupNanos = Duration.ofSeconds(options.getInt("warmup", 10)).toNanos();
+        long durationNanos = Duration.ofSeconds(options.getInt("duration", 60)).toNanos();
+        report(new LoadTest(options).run(concurrency, warmupNanos, durationNanos), durationNanos);
+    }
+
+    // 요청 종류별 결과를 리턴한다. 요청이 없었던 종류는 빠진다.
+    Map<String, Samples> run(int concurrency, long warmupNanos, long durationNanos) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long measureTo = measureFrom + durationNanos;
+        List<Map<String, Samples>> results = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Map<String, Samples> samples = new LinkedHashMap<>();
+            ENDPOINTS.forEach(endpoint -> samples.put(endpoint, new Samples()));
+            results.add(samples);
+            Thread worker = new Thread(() -> {
+                try {
+                    new VirtualUser(samples).run(measureFrom, measureTo);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.start();
+        }
+        System.out.printf("%d virtual users, warmup %d s, measure %d s, mix %s -> %s%n",
+                concurrency, warmupNanos / 1_000_000_000, durationNanos / 1_000_000_000, mix, baseUrl);
+        done.await();
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            Samples endpointSamples = new Samples();
+            results.forEach(samples -> endpointSamples.addAll(samples.get(endpoint)));
+            if (endpointSamples.size() > 0) {
+                merged.put(endpoint, endpointSamples);
+            }
+        }
+        return merged;
+    }
+
+    static void report(Map<String, Samples> results, long durationNanos) {
+        double seconds = durationNanos / 1_000_000_000.0;
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Samples total = new Samples();
+        results.forEach((endpoint, samples) -> {
+            total.addAll(samples);
+            print(endpoint, samples, seconds);
+        });
+        print("total", total, seconds);
+    }
+
+    private static void print(String endpoint, Samples samples, double seconds) {
+        samples.sort();
+        System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint, samples.size(), samples.errors(),
+                samples.size() / seconds, samples.percentileMillis(50), samples.percentileMillis(99),
+                samples.percentileMillis(99.9), samples.percentileMillis(100));
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (!ENDPOINTS.contains(pair[0])) {
+                throw new IllegalArgumentException("알 수 없는 요청 종류: " + pair[0] + " (" + ENDPOINTS + ")");
+            }
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return mix;
+    }
+
+    // 가상 사용자 한 명. HttpClient마다 쿠키 저장소가 따로 있으므로 로그인 세션(또는 서명된 쿠키)을 각자 가진다.
+    private class VirtualUser {
+        private final Map<String, Samples> samples;
+        private final HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER) // 302는 따라가지 않고 Location으로 성공 여부를 판단한다.
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        VirtualUser(Map<String, Samples> samples) {
+            this.samples = samples;
+        }
+
+        void run(long measureFrom, long measureTo) {
+            if (mix.getOrDefault("write", 0) > 0) {
+                String email = randomEmail();
+                if (!send(login(email))) {
+                    failure = "로그인 실패: " + email + " (--login-password, --users가 Seeder로 넣은 값과 같은지 확인)";
+                    return;
+                }
+            }
+            while (failure == null) {
+                String endpoint = pick();
+                HttpRequest request = request(endpoint);
+                long start = System.nanoTime();
+                if (start >= measureTo) {
+                    return;
+                }
+                boolean error = !send(request);
+                long latency = System.nanoTime() - start;
+                if (start >= measureFrom) {
+                    samples.get(endpoint).add(latency, error);
+                }
+            }
+        }
+
+        private String pick() {
+            int n = random.nextInt(mixTotal);
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                n -= entry.getValue();
+                if (n < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private HttpRequest request(String endpoint) {
+            int pageCount = Math.max(1, boards / 10);
+            switch (endpoint) {
+                case "list":
+                    return get("/");
+                case "deep":
+                    return get("/?page=" + (pageCount / 2 + random.nextInt(pageCount - pageCount / 2) + 1));
+                case "board":
+                    return get("/board?boardId=" + (random.nextInt(boards) + 1));
+                case "login":
+                    return login(randomEmail());
+                default:
+                    return post("/write", "title=" + encode("부하 테스트 " + random.nextInt()) + "&content=" + encode("부하 테스트 내용"));
+            }
+        }
+
+        private String randomEmail() {
+            return "user" + (random.nextInt(users) + 1) + "@example.com";
+        }
+
+        private HttpRequest login(String email) {
+            return post("/login", "email=" + encode(email) + "&password=" + encode(loginPassword));
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+
+        private HttpRequest post(String path, String form) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build();
+        }
+
+        // 2xx, 3xx(리다이렉트, 304)면 성공. 단 로그인 폼으로 가는 리다이렉트는 로그인 실패나 로그아웃 상태이므로 실패로 센다.
+        private boolean send(HttpRequest request) {
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    return false;
+                }
+                return !response.headers().firstValue("Location").orElse("").contains("/loginform");
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
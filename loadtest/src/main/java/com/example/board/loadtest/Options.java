@@ -0,0 +1,47 @@
+package com.example.board.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --name=value 형식의 실행 인자
+final class Options {
+    private final Map<String, String> values;
+
+    Options(String[] args) {
+        this.values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --name=value 형식이어야 합니다: " + arg);
+            }
+            int index = arg.indexOf('=');
+            values.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+    }
+
+    private Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    // name만 value로 바꾼 복사본
+    Options with(String name, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put(name, value);
+        return new Options(copy);
+    }
+
+    // name이 없을 때만 value를 넣은 복사본
+    Options withDefault(String name, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.putIfAbsent(name, value);
+        return new Options(copy);
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.board.loadtest;
+
+import java.util.Arrays;
+
+// 한 요청 종류의 응답 시간(ns) 목록. 워커 스레드마다 따로 모으고 끝난 뒤에 합친다.
+final class Samples {
+    private long[] latencies = new long[1024];
+    private int size;
+    private int errors;
+
+    void add(long latencyNanos, boolean error) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void addAll(Samples other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.latencies[i], false);
+        }
+        errors += other.errors;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    // 정렬한 뒤에 호출한다.
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return latencies[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+
+    void sort() {
+        Arrays.sort(latencies, 0, size);
+    }
+}
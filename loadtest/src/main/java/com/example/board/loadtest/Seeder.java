@@ -0,0 +1,134 @@
+package com.example.board.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 부하 테스트용 데이터 생성
+// user는 user{user_id}@example.com (빈 DB라면 user1 ~ userN), 암호는 모두 --login-password 값(기본 password)으로 넣는다.
+// 암호는 평문으로 넣으므로 앱이 처음 로그인할 때 bcrypt로 바꿔 저장한다. (PasswordHasher)
+// board는 작성자를 골고루 나누고, 등록일은 오래된 글부터 순서대로 증가한다.
+// batch 단위로 커밋한다. MySQL은 URL에 rewriteBatchedStatements=true를 붙이면 multi-row insert로 보낸다.
+//   --url, --username, --password : 대상 DB (기본 H2 파일 DB ./build/loadtest-db)
+//   --users, --boards : 생성할 회원 수, 글 수
+//   --batch-size, --content-length
+public final class Seeder {
+
+    private Seeder() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String url = options.get("url", "jdbc:h2:file:./build/loadtest-db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER");
+        int users = options.getInt("users", 100_000);
+        int boards = options.getInt("boards", 1_000_000);
+        int batchSize = options.getInt("batch-size", 1000);
+        int contentLength = options.getInt("content-length", 500);
+        String loginPassword = options.get("login-password", "password");
+
+        try (Connection connection = DriverManager.getConnection(url, options.get("username", "sa"), options.get("password", ""))) {
+            createSchema(connection);
+            connection.setAutoCommit(false);
+            long start = System.currentTimeMillis();
+            int firstUserId = seedUsers(connection, users, batchSize, loginPassword);
+            seedBoards(connection, boards, batchSize, contentLength, firstUserId, users);
+            System.out.printf("seeded %d users, %d boards in %d s%n", users, boards, (System.currentTimeMillis() - start) / 1000);
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException, IOException {
+        String schema;
+        try (InputStream in = Seeder.class.getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : schema.replaceAll("--.*", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+            statement.execute("insert into role (role_id, name) select 1, 'ROLE_USER' from dual where not exists (select 1 from role where role_id = 1)");
+            statement.execute("insert into role (role_id, name) select 2, 'ROLE_ADMIN' from dual where not exists (select 1 from role where role_id = 2)");
+        }
+    }
+
+    // 회원과 권한(ROLE_USER)을 넣고, 첫 user_id를 리턴한다.
+    private static int seedUsers(Connection connection, int users, int batchSize, String loginPassword) throws SQLException {
+        int firstUserId = nextId(connection, "select coalesce(max(user_id), 0) + 1 from user");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insertUser = connection.prepareStatement("insert into user (user_id, email, name, password, regdate) values (?, ?, ?, ?, ?)");
+             PreparedStatement insertRole = connection.prepareStatement("insert into user_role (user_id, role_id) values (?, 1)")) {
+            for (int i = 0; i < users; i++) {
+                int userId = firstUserId + i;
+                insertUser.setInt(1, userId);
+                insertUser.setString(2, "user" + userId + "@example.com");
+                insertUser.setString(3, "user" + userId);
+                insertUser.setString(4, loginPassword);
+                insertUser.setTimestamp(5, now);
+                insertUser.addBatch();
+                insertRole.setInt(1, userId);
+                insertRole.addBatch();
+                if ((i + 1) % batchSize == 0 || i == users - 1) {
+                    insertUser.executeBatch();
+                    insertRole.executeBatch();
+                    connection.commit();
+                    progress("users", i + 1, users, batchSize);
+                }
+            }
+        }
+        return firstUserId;
+    }
+
+    private static void seedBoards(Connection connection, int boards, int batchSize, int contentLength, int firstUserId, int users) throws SQLException {
+        LocalDateTime regdate = LocalDateTime.now().minusSeconds(boards);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement insertBoard = connection.prepareStatement("insert into board (title, content, user_id, regdate, view_cnt) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < boards; i++) {
+                insertBoard.setString(1, "부하 테스트 글 " + (i + 1));
+                insertBoard.setString(2, content(random, contentLength));
+                insertBoard.setInt(3, firstUserId + random.nextInt(users));
+                insertBoard.setTimestamp(4, Timestamp.valueOf(regdate.plusSeconds(i)));
+                insertBoard.setInt(5, random.nextInt(1000));
+                insertBoard.addBatch();
+                if ((i + 1) % batchSize == 0 || i == boards - 1) {
+                    insertBoard.executeBatch();
+                    connection.commit();
+                    progress("boards", i + 1, boards, batchSize);
+                }
+            }
+        }
+    }
+
+    private static final String[] WORDS = {"게시판", "성능", "캐시", "조회수", "목록", "spring", "query", "index", "데이터베이스", "응답"};
+
+    private static String content(ThreadLocalRandom random, int length) {
+        StringBuilder content = new StringBuilder(length + 16);
+        while (content.length() < length) {
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return content.toString();
+    }
+
+    private static int nextId(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); var rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    // 약 10%마다 진행 상황을 출력한다.
+    private static void progress(String table, int done, int total, int batchSize) {
+        int step = Math.max(batchSize, total / 10 / batchSize * batchSize);
+        if (done % step == 0 || done == total) {
+            System.out.printf("%s %d/%d%n", table, done, total);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+-- 부하 테스트용 스키마. 테이블이 없을 때만 만든다. (MySQL, H2 MySQL 모드 공용)
+create table if not exists user (
+    user_id int not null auto_increment primary key,
+    email varchar(255) not null,
+    name varchar(50) not null,
+    password varchar(100) not null,
+    regdate timestamp,
+    unique key uk_user_email (email)
+);
+
+create table if not exists role (
+    role_id int not null primary key,
+    name varchar(20) not null
+);
+
+create table if not exists user_role (
+    user_id int not null,
+    role_id int not null,
+    primary key (user_id, role_id)
+);
+
+create table if not exists board (
+    board_id int not null auto_increment primary key,
+    title varchar(100) not null,
+    content text,
+    user_id int not null,
+    regdate timestamp,
+    view_cnt int not null default 0
+);
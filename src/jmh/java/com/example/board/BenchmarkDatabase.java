@@ -0,0 +1,59 @@
+package com.example.board;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 H2 메모리 DB. MySQL 모드로 열고 schema.sql을 적용한 뒤 데이터를 채운다.
+public final class BenchmarkDatabase {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    public static HikariDataSource create(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        // user는 H2 예약어이므로 NON_KEYWORDS로 풀어준다.
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(4);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    // 회원 userCount명, 게시물 boardCount건을 넣는다. board_id는 1부터 boardCount까지 순서대로 생성된다.
+    public static void seed(HikariDataSource dataSource, int userCount, int boardCount) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= userCount; i++) {
+            batch.add(new Object[]{"user" + i + "@example.com", "user" + i, "password", now});
+            if (batch.size() == BATCH_SIZE || i == userCount) {
+                jdbcTemplate.batchUpdate("insert into user (email, name, password, regdate) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        for (int i = 1; i <= userCount; i++) {
+            batch.add(new Object[]{i});
+            if (batch.size() == BATCH_SIZE || i == userCount) {
+                jdbcTemplate.batchUpdate("insert into user_role (user_id, role_id) values (?, 1)", batch);
+                batch.clear();
+            }
+        }
+        for (int i = 1; i <= boardCount; i++) {
+            batch.add(new Object[]{"title " + i, "content " + i, (i % userCount) + 1, now});
+            if (batch.size() == BATCH_SIZE || i == boardCount) {
+                jdbcTemplate.batchUpdate("insert into board (title, content, user_id, regdate, view_cnt) values (?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
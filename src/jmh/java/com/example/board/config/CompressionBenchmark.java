@@ -0,0 +1,101 @@
+package com.example.board.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// 응답 압축의 비용(요청당 CPU 시간)과 효과(전송 바이트).
+// Tomcat의 server.compression과 같은 gzip(GZIPOutputStream)으로 목록, 상세, board.css를 압축한다.
+// 전송 바이트는 setUp에서 출력한다. level 6이 Tomcat 기본값이다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"list", "detail", "css"})
+    private String payload;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (payload) {
+            case "list":
+                body = listPage().getBytes(StandardCharsets.UTF_8);
+                break;
+            case "detail":
+                body = detailPage(20_000).getBytes(StandardCharsets.UTF_8);
+                break;
+            default:
+                body = Files.readAllBytes(Path.of("src/main/resources/static/board.css"));
+        }
+        System.out.printf("%n%s level %d : %d bytes -> %d bytes on wire%n", payload, level, body.length, gzip().length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new LevelGZIPOutputStream(out, level)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // list.html과 같은 구조의 10건 목록
+    private static String listPage() {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"UTF-8\" />"
+                + "<title>게시판 목록보기</title><link rel=\"stylesheet\" href=\"/board-0123456789abcdef.css\" /></head><body>"
+                + "<section class=\"board\"><div id=\"board-list\"><div class=\"container\"><table class=\"board-table\"><tbody>");
+        for (int i = 0; i < 10; i++) {
+            int boardId = 100_000 - i;
+            html.append("<tr><td>").append(boardId).append("</td><th><a href=\"/board?boardId=").append(boardId).append("\">")
+                    .append("제목 ").append(boardId).append("</a></th><td>").append(i * 7).append("</td><td>사용자")
+                    .append(boardId % 100).append("</td><td>2023-10-0").append(i % 9 + 1).append("T12:34:56</td></tr>");
+        }
+        html.append("</tbody></table></div></div></section></body></html>");
+        return html.toString();
+    }
+
+    // 긴 본문의 상세보기. 본문은 한글과 영문 단어를 섞어서 만든다.
+    private static String detailPage(int contentLength) {
+        String[] words = {"게시판", "성능", "캐시", "조회수", "board", "spring", "query", "index", "데이터베이스", "응답"};
+        StringBuilder content = new StringBuilder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (content.length() < contentLength) {
+            content.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return "<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"UTF-8\" /><title>게시물 상세보기</title></head><body>"
+                + "<H1>제목</H1><div>내용 : <span>" + content + "</span></div></body></html>";
+    }
+
+    private static class LevelGZIPOutputStream extends GZIPOutputStream {
+        LevelGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
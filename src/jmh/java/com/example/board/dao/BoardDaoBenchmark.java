@@ -0,0 +1,88 @@
+package com.example.board.dao;
+
+import com.example.board.BenchmarkDatabase;
+import com.example.board.dto.Board;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// BoardDao 주요 메소드의 기준 성능. 커밋 간 결과를 비교할 수 있도록 반복 횟수와 데이터 양을 고정한다.
+// 데이터 양은 ./gradlew jmh -PboardCount=1000000 처럼 바꿀 수 있다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardDaoBenchmark {
+
+    @Param({"100000"})
+    private int boardCount;
+
+    @Param({"1000"})
+    private int userCount;
+
+    private HikariDataSource dataSource;
+    private BoardDao boardDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = BenchmarkDatabase.create("boarddao");
+        BenchmarkDatabase.seed(dataSource, userCount, boardCount);
+        boardDao = new BoardDao(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Board> getBoardsFirstPage() {
+        return boardDao.getBoards(1);
+    }
+
+    @Benchmark
+    public List<Board> getBoardsRandomPage() {
+        return boardDao.getBoards(ThreadLocalRandom.current().nextInt(boardCount / 10) + 1);
+    }
+
+    @Benchmark
+    public Board getBoard() {
+        return boardDao.getBoard(randomBoardId());
+    }
+
+    @Benchmark
+    public int getTotalCount() {
+        return boardDao.getTotalCount();
+    }
+
+    @Benchmark
+    public void updateViewCnt() {
+        boardDao.updateViewCnt(randomBoardId());
+    }
+
+    @Benchmark
+    public void addBoard() {
+        boardDao.addBoard(ThreadLocalRandom.current().nextInt(userCount) + 1, "benchmark title", "benchmark content");
+    }
+
+    private int randomBoardId() {
+        return ThreadLocalRandom.current().nextInt(boardCount) + 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.board.dao;
+
+import com.example.board.BenchmarkDatabase;
+import com.example.board.dto.Board;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// offset(limit :start, 10) 방식과 커서(board_id < :lastBoardId) 방식의 페이지 위치별 지연시간 비교.
+// 커서 방식은 첫 페이지부터 마지막 페이지까지 지연시간이 거의 같아야 한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardPagingBenchmark {
+
+    @Param({"200000"})
+    private int boardCount;
+
+    // 읽을 페이지 위치 : 처음, 중간, 마지막
+    @Param({"first", "middle", "last"})
+    private String position;
+
+    private HikariDataSource dataSource;
+    private BoardDao boardDao;
+    private int page;
+    private int lastBoardId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = BenchmarkDatabase.create("paging");
+        BenchmarkDatabase.seed(dataSource, 100, boardCount);
+        boardDao = new BoardDao(dataSource);
+
+        int pageCount = (boardCount + 9) / 10;
+        switch (position) {
+            case "first":
+                page = 1;
+                break;
+            case "middle":
+                page = pageCount / 2;
+                break;
+            default:
+                page = pageCount;
+        }
+        // board_id가 1..boardCount로 연속이므로 page번째 페이지를 여는 커서는 앞 페이지의 마지막 board_id이다.
+        lastBoardId = boardCount - (page - 1) * 10 + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Board> offset() {
+        return boardDao.getBoards(page);
+    }
+
+    @Benchmark
+    public List<Board> keyset() {
+        return boardDao.getBoardsAfter(lastBoardId);
+    }
+}
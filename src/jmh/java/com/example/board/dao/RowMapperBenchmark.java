@@ -0,0 +1,59 @@
+package com.example.board.dao;
+
+import com.example.board.BenchmarkDatabase;
+import com.example.board.dto.Board;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 10,000건 결과를 BeanPropertyRowMapper(이전 방식)와 BoardRowMapper로 매핑하는 비용 비교.
+// 할당량은 -prof gc 옵션으로 함께 확인한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+    private static final String SQL = "select user_id, board_id, title, regdate, view_cnt, content from board order by board_id desc limit 10000";
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = BenchmarkDatabase.create("rowmapper");
+        BenchmarkDatabase.seed(dataSource, 100, 10_000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Board> beanPropertyRowMapper() {
+        return jdbcTemplate.query(SQL, BeanPropertyRowMapper.newInstance(Board.class));
+    }
+
+    @Benchmark
+    public List<Board> boardRowMapper() {
+        return jdbcTemplate.query(SQL, BoardRowMapper.DETAIL);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.board.dao;
+
+import com.example.board.BenchmarkDatabase;
+import com.example.board.dto.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 경로(UserDao.getUser, getRoles)의 기준 성능
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDaoBenchmark {
+
+    @Param({"100000"})
+    private int userCount;
+
+    private HikariDataSource dataSource;
+    private UserDao userDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = BenchmarkDatabase.create("userdao");
+        BenchmarkDatabase.seed(dataSource, userCount, 0);
+        userDao = new UserDao(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public User getUser() {
+        return userDao.getUser("user" + randomUserId() + "@example.com");
+    }
+
+    @Benchmark
+    public List<String> getRoles() {
+        return userDao.getRoles(randomUserId());
+    }
+
+    private int randomUserId() {
+        return ThreadLocalRandom.current().nextInt(userCount) + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.board.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 검색 지연시간 분포(p95 등). 목표 : 글 100만 건에서 p95 10ms 미만
+// 단어 빈도가 고르지 않도록(Zipf 비슷하게) 글을 만든다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BoardSearchIndexBenchmark {
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int WORDS_PER_BOARD = 30;
+
+    @Param({"1000000"})
+    private int boardCount;
+
+    private BoardSearchIndex index;
+    private String[] vocabulary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+        }
+        index = new BoardSearchIndex();
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        for (int boardId = 1; boardId <= boardCount; boardId++) {
+            content.setLength(0);
+            for (int i = 0; i < WORDS_PER_BOARD; i++) {
+                content.append(word(random.nextDouble())).append(' ');
+            }
+            index.index(boardId, "게시판 제목 " + boardId, content.toString());
+        }
+    }
+
+    // 자주 나오는 단어 하나
+    @Benchmark
+    public SearchResult commonTerm() {
+        return index.search(word(ThreadLocalRandom.current().nextDouble() * 0.01), 1, 10);
+    }
+
+    // 드물게 나오는 단어 두 개 (AND)
+    @Benchmark
+    public SearchResult twoTerms() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(word(random.nextDouble()) + " " + word(random.nextDouble()), 1, 10);
+    }
+
+    // 한글 bigram 검색, 깊은 페이지
+    @Benchmark
+    public SearchResult hangulDeepPage() {
+        return index.search("게시판", 5000, 10);
+    }
+
+    // 0~1 사이 값을 앞쪽 단어일수록 자주 나오도록 단어로 바꾼다.
+    private String word(double uniform) {
+        return vocabulary[(int) (Math.pow(uniform, 3) * (VOCABULARY_SIZE - 1))];
+    }
+}
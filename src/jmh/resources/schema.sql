@@ -0,0 +1,32 @@
+-- 벤치마크용 스키마. 운영 MySQL 스키마와 같은 컬럼 구성을 H2(MySQL 모드)에 만든다.
+create table user (
+    user_id int not null auto_increment primary key,
+    email varchar(255) not null,
+    name varchar(50) not null,
+    password varchar(100) not null,
+    regdate timestamp,
+    unique key uk_user_email (email)
+);
+
+create table role (
+    role_id int not null primary key,
+    name varchar(20) not null
+);
+
+create table user_role (
+    user_id int not null,
+    role_id int not null,
+    primary key (user_id, role_id)
+);
+
+create table board (
+    board_id int not null auto_increment primary key,
+    title varchar(100) not null,
+    content text,
+    user_id int not null,
+    regdate timestamp,
+    view_cnt int not null default 0
+);
+
+insert into role (role_id, name) values (1, 'ROLE_USER');
+insert into role (role_id, name) values (2, 'ROLE_ADMIN');
@@ -2,8 +2,10 @@ package com.example.board;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 캐시 정합성 맞추기 등 주기 작업
 public class BoardApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,103 @@
+package com.example.board.cache;
+
+import com.example.board.dto.Board;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// 글 상세 캐시. 상세보기, 수정폼, 작성자 확인이 같은 글을 매번 join 쿼리로 읽지 않도록 한다.
+// 글마다 크기가 다르므로 건수가 아니라 문자열 크기의 합(maximumWeightMb)과 TTL로 제한해서 힙 사용량이 일정 이상 늘지 않는다.
+@Component
+public class BoardCache implements MeterBinder {
+    private final Cache<Integer, Board> cache;
+
+    public BoardCache(@Value("${board.board-cache.maximum-weight-mb:32}") long maximumWeightMb,
+                      @Value("${board.board-cache.expire-after-write-ms:60000}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightMb * 1024 * 1024)
+                .weigher((Integer boardId, Board board) -> weigh(board))
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 없으면 loader로 읽어와서 캐시한다.
+    // 캐시에 든 객체는 여러 요청이 공유하므로 복사본을 리턴한다.
+    public Board get(int boardId, Function<Integer, Board> loader) {
+        return copyOf(cache.get(boardId, loader));
+    }
+
+    // 조회수가 DB에 반영된 글은 지워서 다음 조회 때 반영된 값을 다시 읽는다.
+    // 캐시된 값에 증가분을 더하면, 그 사이에 새 조회수를 읽어 다시 캐시한 경우 두 번 더해진다.
+    public void invalidate(int boardId) {
+        cache.invalidate(boardId);
+    }
+
+    // 수정 시 바로 지우고, 커밋 후에 다시 읽어서 넣어둔다.
+    // 커밋 직후에는 아직 primary 커넥션이 트랜잭션에 묶여 있으므로 replica 복제 지연과 상관없이 수정된 값을 읽는다.
+    public void reloadAfterCommit(int boardId, Function<Integer, Board> loader) {
+        cache.invalidate(boardId);
+        AfterCommit.run(() -> {
+            try {
+                cache.put(boardId, loader.apply(boardId));
+            } catch (RuntimeException ex) {
+                cache.invalidate(boardId);
+            }
+        });
+    }
+
+    // 삭제 시 바로 지우고, 커밋 후에 한 번 더 지운다.
+    // 커밋 전에 다른 요청이 예전 값을 다시 캐시하는 경우를 막기 위해서이다.
+    public void invalidateAfterCommit(int boardId) {
+        cache.invalidate(boardId);
+        AfterCommit.run(() -> cache.invalidate(boardId));
+    }
+
+    // 캐시에 있을 때만 리턴한다. 없으면 null
+    public Board getIfPresent(int boardId) {
+        Board board = cache.getIfPresent(boardId);
+        return board == null ? null : copyOf(board);
+    }
+
+    // 적중/실패/제거 건수
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions 등으로 노출된다.
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "board");
+    }
+
+    private static Board copyOf(Board board) {
+        Board copy = new Board();
+        copy.setBoardId(board.getBoardId());
+        copy.setTitle(board.getTitle());
+        copy.setContent(board.getContent());
+        copy.setUserId(board.getUserId());
+        copy.setRegdate(board.getRegdate());
+        copy.setViewCnt(board.getViewCnt());
+        copy.setName(board.getName());
+        copy.setContentLength(board.getContentLength());
+        copy.setTruncated(board.isTruncated());
+        return copy;
+    }
+
+    // 대략적인 힙 사용량(byte). 문자열은 글자당 최대 2byte
+    private static int weigh(Board board) {
+        return 200 + 2 * (length(board.getTitle()) + length(board.getContent()) + length(board.getName()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
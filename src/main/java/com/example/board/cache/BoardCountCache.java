@@ -0,0 +1,55 @@
+package com.example.board.cache;
+
+import com.example.board.dao.BoardDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 전체 글 수 캐시. select count(*)는 InnoDB에서 인덱스 전체를 읽으므로 목록 요청마다 실행하지 않는다.
+// 글 등록/삭제 시 커밋 후에 값을 조정하고, 주기적으로 DB 값과 맞춘다.
+@Slf4j
+@Component
+public class BoardCountCache {
+    private static final int NOT_LOADED = -1;
+
+    private final BoardDao boardDao;
+    private final AtomicInteger totalCount = new AtomicInteger(NOT_LOADED);
+
+    public BoardCountCache(BoardDao boardDao) {
+        this.boardDao = boardDao;
+    }
+
+    public int getTotalCount() {
+        int count = totalCount.get();
+        if (count == NOT_LOADED) {
+            return reconcile();
+        }
+        return count;
+    }
+
+    // 현재 트랜잭션이 커밋된 후 delta 만큼 조정한다. 롤백되면 조정하지 않는다.
+    public void adjustAfterCommit(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> adjust(delta));
+    }
+
+    private void adjust(int delta) {
+        // 아직 읽어오지 않았다면 다음 조회 때 DB에서 읽어오므로 조정하지 않는다.
+        totalCount.updateAndGet(count -> count == NOT_LOADED ? count : count + delta);
+    }
+
+    // DB의 값으로 맞춘다. 다른 노드에서 등록/삭제한 글도 여기서 반영된다.
+    @Scheduled(fixedDelayString = "${board.count-cache.reconcile-interval-ms:60000}")
+    public int reconcile() {
+        int count = boardDao.getTotalCount();
+        int previous = totalCount.getAndSet(count);
+        if (previous != NOT_LOADED && previous != count) {
+            log.debug("board count reconciled: {} -> {}", previous, count);
+        }
+        return count;
+    }
+}
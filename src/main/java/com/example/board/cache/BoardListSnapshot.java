@@ -0,0 +1,66 @@
+package com.example.board.cache;
+
+import com.example.board.dao.BoardDao;
+import com.example.board.dto.Board;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 앞쪽 목록 페이지 스냅샷. 대부분의 요청이 1페이지이므로 앞쪽 N페이지를 미리 만들어 두고 DB 없이 응답한다.
+// 글 등록/수정/삭제 시 새 목록을 만들어 참조만 바꾼다(copy-on-write). 읽는 쪽은 락 없이 volatile 참조만 읽는다.
+// 스냅샷의 Board 객체는 여러 요청이 공유하므로 읽기 전용으로 사용해야 한다.
+@Slf4j
+@Component
+public class BoardListSnapshot {
+    private static final int PAGE_SIZE = 10;
+
+    private final BoardDao boardDao;
+    private final int pageCount;
+    private volatile List<List<Board>> pages; // 아직 만들지 않았으면 null
+
+    public BoardListSnapshot(BoardDao boardDao, @Value("${board.list-snapshot.pages:3}") int pageCount) {
+        this.boardDao = boardDao;
+        this.pageCount = pageCount;
+    }
+
+    // 스냅샷에 있는 페이지면 리턴하고, 없으면 null을 리턴한다.
+    public List<Board> getPage(int page) {
+        List<List<Board>> current = pages;
+        if (current == null || page < 1 || page > current.size()) {
+            return null;
+        }
+        return current.get(page - 1);
+    }
+
+    // 커밋 후에 새 스냅샷을 만든다. 글을 쓴 사용자가 목록으로 돌아왔을 때 자신의 글이 보여야 하기 때문이다.
+    public void refreshAfterCommit() {
+        AfterCommit.run(this::refresh);
+    }
+
+    // 조회수 등 스냅샷 이후에 바뀐 값도 주기적으로 반영한다.
+    // 동시에 여러 번 만들어질 때 오래된 스냅샷이 나중에 게시되지 않도록 만드는 쪽만 동기화한다.
+    @Scheduled(fixedDelayString = "${board.list-snapshot.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (pageCount < 1) {
+            return;
+        }
+        try {
+            List<Board> latest = boardDao.getLatestBoards(pageCount * PAGE_SIZE);
+            List<List<Board>> newPages = new ArrayList<>(pageCount);
+            for (int i = 0; i < pageCount; i++) {
+                int from = Math.min(i * PAGE_SIZE, latest.size());
+                int to = Math.min(from + PAGE_SIZE, latest.size());
+                newPages.add(List.copyOf(latest.subList(from, to)));
+            }
+            pages = List.copyOf(newPages);
+        } catch (RuntimeException ex) {
+            // 예전 스냅샷은 지운다. 다음에 만들어질 때까지 DB에서 읽는다.
+            pages = null;
+            log.warn("board list snapshot refresh failed", ex);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.board.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 글 목록, 글 상세의 버전(마지막 변경 시각, ms). 조건부 GET(ETag/Last-Modified)에 사용한다.
+// 글 등록/수정/삭제 시 커밋 후에 버전을 올린다. 변경된 적 없는 글은 서버 시작 시각을 버전으로 쓴다.
+// 목록과 상세에 보이는 조회수는 계속 바뀌므로 viewCountWindowMs 단위로 끊어서 그 안에서는 같은 버전으로 본다.
+@Component
+public class BoardVersions {
+    private final long viewCountWindowMs;
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong lastVersion = new AtomicLong(startedAt);
+    private final AtomicLong listVersion = new AtomicLong(startedAt);
+    // 수정/삭제된 글만 저장한다. 삭제된 글도 남겨두어야 이전 ETag로 304가 나가지 않는다.
+    // 현재 조회수 구간보다 오래된 버전은 결과에 영향이 없으므로 주기적으로 지운다. (removeExpired)
+    private final ConcurrentHashMap<Integer, Long> boardVersions = new ConcurrentHashMap<>();
+
+    public BoardVersions(@Value("${board.http-cache.view-count-window-ms:60000}") long viewCountWindowMs) {
+        this.viewCountWindowMs = Math.max(1, viewCountWindowMs);
+    }
+
+    public long getListVersion() {
+        return Math.max(listVersion.get(), viewCountWindow());
+    }
+
+    public long getBoardVersion(int boardId) {
+        return Math.max(boardVersions.getOrDefault(boardId, startedAt), viewCountWindow());
+    }
+
+    public void listChangedAfterCommit() {
+        AfterCommit.run(() -> listVersion.set(nextVersion()));
+    }
+
+    // 글 내용이 바뀌면 목록(제목, 작성자)도 바뀐다.
+    public void boardChangedAfterCommit(int boardId) {
+        AfterCommit.run(() -> {
+            long version = nextVersion();
+            boardVersions.put(boardId, version);
+            listVersion.set(version);
+        });
+    }
+
+    // 버전이 현재 조회수 구간 시작보다 작으면 getBoardVersion은 항상 구간 시작을 리턴하므로 지워도 결과가 같다.
+    @Scheduled(fixedDelayString = "${board.http-cache.view-count-window-ms:60000}")
+    public void removeExpired() {
+        long window = viewCountWindow();
+        boardVersions.values().removeIf(version -> version < window);
+    }
+
+    // 같은 ms에 여러 번 바뀌어도 버전이 겹치지 않도록 항상 증가시킨다.
+    private long nextVersion() {
+        return lastVersion.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    private long viewCountWindow() {
+        long now = System.currentTimeMillis();
+        return now - now % viewCountWindowMs;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.board.cache;
+
+import com.example.board.dao.UserDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 가입된 이메일 블룸 필터. 회원가입 중복 검사에서 "확실히 없는" 이메일은 DB를 조회하지 않는다.
+// 있을 수도 있다(mightContain)고 나오면 DB로 확인한다. 필터를 만들기 전에는 항상 true를 리턴한다.
+// 다른 노드에서 가입한 이메일은 다음 재생성 때 반영되므로 최종 중복 방지는 email unique 인덱스가 맡는다.
+@Slf4j
+@Component
+public class EmailBloomFilter {
+    private final UserDao userDao;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Bits bits; // 아직 만들지 않았으면 null
+    private volatile Bits rebuilding; // 재생성 중에 추가된 이메일도 새 필터에 넣기 위해 보관한다.
+
+    public EmailBloomFilter(UserDao userDao,
+                            @Value("${board.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${board.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userDao = userDao;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContain(String email) {
+        Bits current = bits;
+        return current == null || current.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        String key = normalize(email);
+        Bits current = bits;
+        if (current != null) {
+            current.put(key);
+        }
+        Bits next = rebuilding;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    // 시작 시, 그리고 주기적으로 DB의 이메일 전체로 다시 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${board.email-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${board.email-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        Bits next = new Bits(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        try {
+            userDao.forEachEmail(email -> next.put(normalize(email)));
+            bits = next;
+        } catch (RuntimeException ex) {
+            log.warn("email bloom filter rebuild failed", ex);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    // MySQL 기본 collation은 대소문자를 구분하지 않으므로 소문자로 맞춘다.
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 비트 배열과 k개의 해시(double hashing). 여러 스레드가 동시에 추가할 수 있도록 AtomicLongArray를 쓴다.
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        Bits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(expectedInsertions, 1);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = fnv1a64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = fnv1a64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long fnv1a64(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.board.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// 여러 노드로 운영할 때 캐시 무효화 이벤트를 다른 노드에 전달한다. (board.invalidation.mode)
+// loopback : 같은 JVM 안에서만 전달한다. 노드가 하나이거나 테스트용
+// jdbc     : DB의 변경 로그 테이블에 쓰고 각 노드가 주기적으로 읽는다. 별도 메시지 브로커가 필요 없다.
+// 구독자는 다른 노드에서 보낸 이벤트만 받는다. 자기 노드의 캐시는 쓰기 시점에 이미 갱신되어 있다.
+public interface InvalidationBroadcaster {
+
+    void broadcast(List<InvalidationEvent> events);
+
+    void subscribe(Consumer<List<InvalidationEvent>> listener);
+}
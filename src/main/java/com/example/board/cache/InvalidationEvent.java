@@ -0,0 +1,38 @@
+package com.example.board.cache;
+
+import lombok.Value;
+
+// 다른 노드에 알리는 캐시 무효화 이벤트. 같은 이벤트는 한 번만 보내도록 equals/hashCode로 합친다.
+@Value
+public class InvalidationEvent {
+    public enum Entity {
+        BOARD, // 글 하나가 등록/수정/삭제됨. id = boardId
+        BOARD_LIST, // 목록(전체 글 수, 앞쪽 페이지)이 바뀜. id = 0
+        BOARDS_AFTER, // 일괄 등록으로 id 이후의 글이 추가됨. id = 등록 전 마지막 boardId
+        USER_ROLES, // 회원 권한이 바뀜. id = userId
+        BOARD_COUNT // 전체 글 수가 바뀜. id = 증감 (InvalidationPublisher가 flush 주기 동안의 합으로 보낸다)
+    }
+
+    Entity entity;
+    int id;
+
+    public static InvalidationEvent board(int boardId) {
+        return new InvalidationEvent(Entity.BOARD, boardId);
+    }
+
+    public static InvalidationEvent boardList() {
+        return new InvalidationEvent(Entity.BOARD_LIST, 0);
+    }
+
+    public static InvalidationEvent boardsAfter(int lastBoardId) {
+        return new InvalidationEvent(Entity.BOARDS_AFTER, lastBoardId);
+    }
+
+    public static InvalidationEvent userRoles(int userId) {
+        return new InvalidationEvent(Entity.USER_ROLES, userId);
+    }
+
+    public static InvalidationEvent boardCount(int delta) {
+        return new InvalidationEvent(Entity.BOARD_COUNT, delta);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.board.cache;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 쓰기(BoardService, UserService)에서 생긴 무효화 이벤트를 모아서 다른 노드에 보낸다.
+// 커밋된 변경만 모으고, flush-interval-ms 동안 같은 이벤트는 하나로 합쳐서 한 번에 보낸다.
+// 전체 글 수 증감은 합쳐지면 안 되므로 따로 더해 두었다가 BOARD_COUNT 이벤트 하나로 보낸다.
+@Component
+public class InvalidationPublisher {
+    private final InvalidationBroadcaster broadcaster;
+    private final Set<InvalidationEvent> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingCountDelta = new AtomicInteger();
+
+    public InvalidationPublisher(InvalidationBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    public void publishAfterCommit(InvalidationEvent event) {
+        AfterCommit.run(() -> pending.add(event));
+    }
+
+    // 다른 노드는 count(*)를 다시 읽지 않고 이 값만큼 조정한다.
+    public void publishCountDeltaAfterCommit(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> pendingCountDelta.addAndGet(delta));
+    }
+
+    @Scheduled(fixedDelayString = "${board.invalidation.flush-interval-ms:200}")
+    public void flush() {
+        if (pending.isEmpty() && pendingCountDelta.get() == 0) {
+            return;
+        }
+        List<InvalidationEvent> events = new ArrayList<>();
+        for (InvalidationEvent event : pending) {
+            if (pending.remove(event)) {
+                events.add(event);
+            }
+        }
+        int countDelta = pendingCountDelta.getAndSet(0);
+        List<InvalidationEvent> batch = new ArrayList<>(events);
+        if (countDelta != 0) {
+            batch.add(InvalidationEvent.boardCount(countDelta));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            broadcaster.broadcast(batch);
+        } catch (RuntimeException ex) {
+            // 보내지 못하면 다음 주기에 다시 보낸다.
+            pending.addAll(events);
+            pendingCountDelta.addAndGet(countDelta);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.board.cache;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// DB 변경 로그 테이블(board_invalidation)로 이벤트를 전달한다.
+// 보내는 노드는 batch insert 한 번으로 쓰고, 각 노드는 poll-interval-ms마다 마지막으로 읽은 id 이후의 행을 읽는다.
+// 자기 노드가 쓴 행은 건너뛰고, retention-ms가 지난 행은 지운다.
+// auto_increment id는 커밋 순서와 다를 수 있다. (작은 id의 insert가 더 늦게 커밋되면 이미 지나간 위치에 행이 나타난다)
+// 검색 색인처럼 시작할 때만 다시 만드는 캐시는 이벤트 하나를 놓치면 재시작까지 틀리므로,
+// 매번 마지막 위치에서 LOOKBACK_IDS 전까지, 만든 지 LOOKBACK_MS가 안 된 행을 다시 읽고 이미 전달한 id는 건너뛴다.
+// created_at은 보낸 노드의 시계이므로 노드 간 시계 차이가 LOOKBACK_MS보다 작아야 한다.
+@Slf4j
+public class JdbcInvalidationBroadcaster implements InvalidationBroadcaster {
+    private static final int POLL_LIMIT = 1000;
+    private static final int LOOKBACK_IDS = 1000;
+    private static final long LOOKBACK_MS = 10_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long retentionMs;
+    private final List<Consumer<List<InvalidationEvent>>> listeners = new CopyOnWriteArrayList<>();
+    private long lastId;
+    private final NavigableSet<Long> delivered = new TreeSet<>(); // lastId - LOOKBACK_IDS 이후에 전달한(또는 건너뛴) id
+
+    public JdbcInvalidationBroadcaster(DataSource dataSource, long retentionMs) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.retentionMs = retentionMs;
+        jdbcTemplate.getJdbcTemplate().execute("create table if not exists board_invalidation (" +
+                "id bigint not null auto_increment primary key, " +
+                "node_id varchar(36) not null, " +
+                "entity varchar(20) not null, " +
+                "entity_id int not null, " +
+                "created_at timestamp not null)");
+        // 시작 전의 이벤트는 필요 없다. 캐시가 비어 있다.
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from board_invalidation", Map.of(), Long.class);
+        this.lastId = maxId == null ? 0 : maxId;
+    }
+
+    @Override
+    public void broadcast(List<InvalidationEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] params = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("nodeId", nodeId)
+                        .addValue("entity", event.getEntity().name())
+                        .addValue("entityId", event.getId())
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("insert into board_invalidation (node_id, entity, entity_id, created_at) values (:nodeId, :entity, :entityId, :createdAt)", params);
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    // 한 번에 POLL_LIMIT행까지 읽고, 더 남아 있으면 이어서 읽는다.
+    // 구독자가 없으면 읽지 않는다. 시작 후 구독 전에 쓰인 행은 구독한 뒤에 전달된다.
+    // 구독자가 실패하면 읽은 위치를 옮기지 않고 다음 poll에서 다시 전달한다. (무효화는 여러 번 적용해도 결과가 같다)
+    @Scheduled(fixedDelayString = "${board.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusNanos(LOOKBACK_MS * 1_000_000));
+        long from = Math.max(0, lastId - LOOKBACK_IDS);
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query("select id, node_id, entity, entity_id from board_invalidation " +
+                            "where id > :from and (id > :lastId or created_at >= :since) order by id limit :limit",
+                    Map.of("from", from, "lastId", lastId, "since", since, "limit", POLL_LIMIT),
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4)));
+            List<Long> ids = new ArrayList<>();
+            List<InvalidationEvent> events = new ArrayList<>();
+            for (Row row : rows) {
+                if (delivered.contains(row.getId())) {
+                    continue;
+                }
+                ids.add(row.getId());
+                InvalidationEvent event = toEvent(row);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            if (!deliver(events)) {
+                return;
+            }
+            delivered.addAll(ids);
+            if (!rows.isEmpty()) {
+                from = rows.get(rows.size() - 1).getId();
+                lastId = Math.max(lastId, from);
+            }
+        } while (rows.size() == POLL_LIMIT);
+        delivered.headSet(lastId - LOOKBACK_IDS, true).clear();
+    }
+
+    // 자기 노드가 쓴 행과 모르는 종류의 행(배포 중에 새 버전 노드가 쓴 행 등)은 null
+    private InvalidationEvent toEvent(Row row) {
+        if (nodeId.equals(row.getNodeId())) {
+            return null;
+        }
+        try {
+            return new InvalidationEvent(InvalidationEvent.Entity.valueOf(row.getEntity()), row.getEntityId());
+        } catch (IllegalArgumentException ex) {
+            log.warn("skipping invalidation event {} with unknown entity {}", row.getId(), row.getEntity());
+            return null;
+        }
+    }
+
+    private boolean deliver(List<InvalidationEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        try {
+            listeners.forEach(listener -> listener.accept(events));
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("failed to apply {} invalidation events. retrying on next poll", events.size(), ex);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.invalidation.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minusNanos(retentionMs * 1_000_000));
+        int deleted = jdbcTemplate.update("delete from board_invalidation where created_at < :before", Map.of("before", before));
+        if (deleted > 0) {
+            log.debug("deleted {} old invalidation events", deleted);
+        }
+    }
+
+    @Value
+    private static class Row {
+        long id;
+        String nodeId;
+        String entity;
+        int entityId;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.board.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 같은 JVM 안의 노드끼리 이벤트를 바로 전달한다.
+// 같은 Network에 join한 다른 노드의 구독자에게만 전달하므로, 노드가 하나면 아무 일도 하지 않는다.
+public class LoopbackInvalidationBroadcaster implements InvalidationBroadcaster {
+    private final Network network;
+    private final List<Consumer<List<InvalidationEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    private LoopbackInvalidationBroadcaster(Network network) {
+        this.network = network;
+    }
+
+    public static LoopbackInvalidationBroadcaster standalone() {
+        return new Network().join();
+    }
+
+    @Override
+    public void broadcast(List<InvalidationEvent> events) {
+        for (LoopbackInvalidationBroadcaster node : network.nodes) {
+            if (node != this) {
+                node.listeners.forEach(listener -> listener.accept(events));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    // 이벤트를 주고받는 노드 묶음
+    public static class Network {
+        private final List<LoopbackInvalidationBroadcaster> nodes = new CopyOnWriteArrayList<>();
+
+        public LoopbackInvalidationBroadcaster join() {
+            LoopbackInvalidationBroadcaster node = new LoopbackInvalidationBroadcaster(this);
+            nodes.add(node);
+            return node;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.board.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+// 회원 권한 캐시 (userId -> 권한 이름 목록). 로그인마다 user_role, role join을 실행하지 않도록 한다.
+@Component
+public class UserRoleCache implements MeterBinder {
+    private final Cache<Integer, List<String>> cache;
+
+    public UserRoleCache(@Value("${board.role-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${board.role-cache.expire-after-write-ms:600000}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+    }
+
+    public List<String> get(int userId, Function<Integer, List<String>> loader) {
+        return cache.get(userId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    // 권한이 바뀌면 커밋 후에 지운다.
+    public void invalidateAfterCommit(int userId) {
+        cache.invalidate(userId);
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userRole");
+    }
+}
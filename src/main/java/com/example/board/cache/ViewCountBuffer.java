@@ -0,0 +1,100 @@
+package com.example.board.cache;
+
+import com.example.board.dao.BoardDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 조회수 쓰기 지연 버퍼. 상세보기마다 update를 실행하면 인기 글의 row lock에 요청이 몰리므로
+// 메모리에 누적했다가 주기적으로 한 번의 batch update로 반영한다.
+// flush 중인 증가분(inFlight)은 커밋될 때까지 getPending에 계속 포함되므로 보이는 조회수가 줄어들지 않는다.
+@Slf4j
+@Component
+public class ViewCountBuffer {
+    private final BoardDao boardDao;
+    private final BoardCache boardCache;
+    // boardId -> 아직 DB에 반영되지 않은 조회수. 값은 불변 객체이고 compute로 key 단위로 바꾸므로
+    // 읽는 쪽은 pending과 inFlight를 항상 같은 시점의 값으로 본다.
+    private final ConcurrentHashMap<Integer, Counts> counts = new ConcurrentHashMap<>();
+
+    public ViewCountBuffer(BoardDao boardDao, BoardCache boardCache) {
+        this.boardDao = boardDao;
+        this.boardCache = boardCache;
+    }
+
+    public void increment(int boardId) {
+        counts.merge(boardId, Counts.ONE, (current, one) -> new Counts(current.pending + 1, current.inFlight));
+    }
+
+    // 아직 반영되지 않은 조회수 (flush 중인 증가분 포함)
+    public long getPending(int boardId) {
+        Counts current = counts.get(boardId);
+        return current == null ? 0 : current.pending + current.inFlight;
+    }
+
+    // 삭제된 글의 조회수는 반영할 필요가 없다.
+    public void discard(int boardId) {
+        counts.remove(boardId);
+    }
+
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (counts.isEmpty()) {
+            return;
+        }
+        // pending을 inFlight로 옮긴다. 이후의 증가분은 다시 pending에 쌓인다.
+        Map<Integer, Long> increments = new HashMap<>();
+        for (Integer boardId : counts.keySet()) {
+            counts.computeIfPresent(boardId, (id, current) -> {
+                if (current.pending == 0) {
+                    return current;
+                }
+                increments.put(id, current.pending);
+                return new Counts(0, current.inFlight + current.pending);
+            });
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+        try {
+            boardDao.updateViewCnts(increments);
+        } catch (RuntimeException ex) {
+            // 실패하면 다음 주기에 다시 반영하도록 pending으로 되돌린다.
+            increments.forEach((boardId, count) -> counts.computeIfPresent(boardId,
+                    (id, current) -> new Counts(current.pending + count, current.inFlight - count)));
+            log.warn("view count flush failed. {} boards will be retried", increments.size(), ex);
+            return;
+        }
+        // 캐시를 먼저 지운 뒤에 inFlight를 뺀다. 반대 순서면 잠깐 동안 예전 캐시 값만 보여서 조회수가 줄어 보인다.
+        increments.forEach((boardId, count) -> {
+            boardCache.invalidate(boardId);
+            counts.computeIfPresent(boardId, (id, current) -> {
+                Counts next = new Counts(current.pending, current.inFlight - count);
+                return next.pending == 0 && next.inFlight == 0 ? null : next;
+            });
+        });
+    }
+
+    // 정상 종료 시 남은 조회수를 반영한다.
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static final class Counts {
+        private static final Counts ONE = new Counts(1, 0);
+
+        private final long pending; // 다음 flush에 반영할 증가분
+        private final long inFlight; // 반영 중이고 아직 커밋되지 않은 증가분
+
+        private Counts(long pending, long inFlight) {
+            this.pending = pending;
+            this.inFlight = inFlight;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.board.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 글쓰기/수정 요청 본문 크기 제한 (board.post.max-body-bytes)
+// 폼 파라미터는 컨트롤러가 @RequestParam으로 처음 읽을 때 파싱되므로, 그 전에 Content-Length로 확인하면 큰 본문을 힙에 올리지 않는다.
+// Content-Length 없이(chunked) 보낸 본문은 server.tomcat.max-http-form-post-size가 막는다.
+@Component
+public class BodySizeLimitInterceptor implements HandlerInterceptor {
+    private final long maxBodyBytes;
+
+    public BodySizeLimitInterceptor(@Value("${board.post.max-body-bytes:1048576}") long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 요청 실행 방식 (board.execution.mode)
+// platform : Tomcat 워커 스레드 풀에서 처리한다. (기본값)
+// virtual  : Tomcat 커넥터가 요청마다 virtual thread를 쓴다. JDBC 대기 중에 OS 스레드를 잡고 있지 않는다. JDK 21 이상
+// async    : DB를 읽는 컨트롤러를 제한된 크기의 스레드 풀에서 실행한다. (RequestExecution 참고)
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "board.execution.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // 소스는 Java 11로 컴파일하므로 JDK 21의 API는 리플렉션으로 호출한다.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("board.execution.mode=virtual requires JDK 21 or later. current: "
+                    + System.getProperty("java.version"), ex);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.board.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// spring.main.lazy-initialization=true(fast-start 프로필)일 때도 바로 만들어야 하는 빈
+// - @Scheduled 메소드가 있는 빈 : 빈이 만들어져야 주기 작업이 등록된다. (조회수 반영, 캐시 정합성 등)
+// - MeterBinder : 요청이 오기 전에도 메트릭이 노출되어야 한다.
+// - ApplicationRunner(WarmUpRunner)는 Spring Boot가 항상 바로 만든다.
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && (MeterBinder.class.isAssignableFrom(beanType)
+                || !MethodIntrospector.selectMethods(beanType,
+                        (MethodIntrospector.MetadataLookup<Scheduled>) method -> AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class))
+                .isEmpty());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.board.config;
+
+import com.example.board.cache.InvalidationBroadcaster;
+import com.example.board.cache.JdbcInvalidationBroadcaster;
+import com.example.board.cache.LoopbackInvalidationBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// 노드 간 캐시 무효화 방식 (board.invalidation.mode)
+@Configuration
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "board.invalidation.mode", havingValue = "jdbc")
+    public InvalidationBroadcaster jdbcInvalidationBroadcaster(DataSource dataSource,
+                                                               @Value("${board.invalidation.retention-ms:3600000}") long retentionMs) {
+        return new JdbcInvalidationBroadcaster(dataSource, retentionMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "board.invalidation.mode", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationBroadcaster loopbackInvalidationBroadcaster() {
+        return LoopbackInvalidationBroadcaster.standalone();
+    }
+}
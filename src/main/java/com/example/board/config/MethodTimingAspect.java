@@ -0,0 +1,37 @@
+package com.example.board.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Service, DAO의 모든 public 메소드 실행 시간을 기록한다.
+// board.method{class, method, exception} 타이머로 남으므로 메소드별 지연시간 분포, 호출 수, 오류 비율을 볼 수 있다.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodTimingAspect {
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.board.service.*Service.*(..)) || execution(public * com.example.board.dao.*Dao.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("board.method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
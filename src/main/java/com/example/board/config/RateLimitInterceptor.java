@@ -0,0 +1,144 @@
+package com.example.board.config;
+
+import com.example.board.dto.LoginInfo;
+import com.example.board.session.LoginInfoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 요청 수 제한 (board.rate-limit)
+// login, register : IP별 (로그인 전이므로)
+// write, view     : 로그인 사용자별, 세션별, IP별 버킷을 모두 확인한다. 하나라도 한도를 넘으면 거절한다.
+//                   (로그인하지 않고 세션을 새로 만들거나 여러 계정을 번갈아 쓰는 것으로 한도를 피하지 못하도록)
+//                   IP 버킷은 NAT 뒤의 여러 사용자가 함께 쓰므로 규칙의 shared-ip-factor배로 허용한다.
+//                   view는 조회수가 증가하는 /board와 긴 글 전체 내용 /board/content
+// 쓰기 요청은 전체 동시 실행 수도 maxConcurrentWrites로 제한한다.
+// 한도를 넘으면 커넥션 풀에서 기다리지 않고 바로 429로 응답한다. 거절 수는 board.rate.limit.rejected{rule, reason}로 남는다.
+// 프록시 뒤에서 운영하면 server.forward-headers-strategy를 설정해야 IP가 프록시 주소로 모이지 않는다.
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    private final boolean enabled;
+    private final TokenBuckets login;
+    private final TokenBuckets register;
+    private final TokenBuckets write;
+    private final TokenBuckets writeByIp;
+    private final TokenBuckets view;
+    private final TokenBuckets viewByIp;
+    private final Semaphore writePermits;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.login = buckets(properties.getLogin(), properties);
+        this.register = buckets(properties.getRegister(), properties);
+        this.write = buckets(properties.getWrite(), properties);
+        this.writeByIp = sharedIpBuckets(properties.getWrite(), properties);
+        this.view = buckets(properties.getView(), properties);
+        this.viewByIp = sharedIpBuckets(properties.getView(), properties);
+        this.writePermits = new Semaphore(properties.getMaxConcurrentWrites());
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static TokenBuckets buckets(RateLimitProperties.Rule rule, RateLimitProperties properties) {
+        return new TokenBuckets(rule.getPerSecond(), rule.getBurst(), properties.getMaxKeys());
+    }
+
+    private static TokenBuckets sharedIpBuckets(RateLimitProperties.Rule rule, RateLimitProperties properties) {
+        int factor = Math.max(1, properties.getSharedIpFactor());
+        return new TokenBuckets(rule.getPerSecond() * factor, rule.getBurst() * factor, properties.getMaxKeys());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // 비동기 처리(CompletableFuture, WebAsyncTask) 결과를 돌려주는 dispatch는 이미 처음 요청에서 확인했다.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if ("POST".equals(method) && "/login".equals(path)) {
+            return admit(login, "login", "ip:" + request.getRemoteAddr(), response);
+        }
+        if ("POST".equals(method) && "/userRegForm".equals(path)) {
+            return admit(register, "register", "ip:" + request.getRemoteAddr(), response);
+        }
+        if ("GET".equals(method) && ("/board".equals(path) || "/board/content".equals(path))) {
+            return admitClient(view, viewByIp, "view", request, response);
+        }
+        if (isWrite(method, path)) {
+            if (!admitClient(write, writeByIp, "write", request, response)) {
+                return false;
+            }
+            if (!writePermits.tryAcquire()) {
+                reject(response, "write", "concurrency", 1);
+                return false;
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            writePermits.release();
+        }
+    }
+
+    private static boolean isWrite(String method, String path) {
+        if ("POST".equals(method)) {
+            return "/write".equals(path) || "/update".equals(path) || "/boards/import".equals(path);
+        }
+        return "GET".equals(method) && "/delete".equals(path);
+    }
+
+    // 사용자, 세션, IP 순서로 확인한다. 앞의 버킷에서 쓴 토큰은 뒤에서 거절되어도 돌려주지 않는다.
+    private boolean admitClient(TokenBuckets perClient, TokenBuckets perIp, String rule,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Object loginInfo = request.getAttribute(LoginInfoStore.ATTRIBUTE_NAME);
+        if (loginInfo instanceof LoginInfo && !admit(perClient, rule, "user:" + ((LoginInfo) loginInfo).getUserId(), response)) {
+            return false;
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && !admit(perClient, rule, "session:" + session.getId(), response)) {
+            return false;
+        }
+        return admit(perIp, rule, "ip:" + request.getRemoteAddr(), response);
+    }
+
+    private boolean admit(TokenBuckets buckets, String rule, String key, HttpServletResponse response) throws IOException {
+        long waitNanos = buckets.tryAcquire(key);
+        if (waitNanos == 0) {
+            return true;
+        }
+        reject(response, rule, "rate", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, String rule, String reason, long retryAfterSeconds) throws IOException {
+        Counter.builder("board.rate.limit.rejected")
+                .tag("rule", rule)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.".getBytes(StandardCharsets.UTF_8));
+    }
+}
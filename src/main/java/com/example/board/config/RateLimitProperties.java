@@ -0,0 +1,37 @@
+package com.example.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// board.rate-limit 설정
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("board.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxKeys = 100_000; // 규칙별로 기억하는 사용자/세션/IP 수. 넘으면 오래 안 쓴 것부터 지운다.
+    private int maxConcurrentWrites = 8; // 동시에 실행하는 쓰기 요청 수. 커넥션 풀 크기보다 작게 둔다.
+    private int sharedIpFactor = 10; // write, view의 IP별 버킷은 사용자/세션별 한도의 이 배수까지 허용한다.
+    private Rule login = new Rule(1, 5);
+    private Rule register = new Rule(0.2, 3);
+    private Rule write = new Rule(1, 10);
+    private Rule view = new Rule(20, 50);
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private double perSecond; // 평균 허용 요청 수
+        private int burst; // 한 번에 몰려도 허용하는 요청 수
+
+        public Rule() {
+        }
+
+        public Rule(double perSecond, int burst) {
+            this.perSecond = perSecond;
+            this.burst = burst;
+        }
+    }
+}
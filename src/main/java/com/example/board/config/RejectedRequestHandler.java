@@ -0,0 +1,17 @@
+package com.example.board.config;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+// async 모드에서 요청 풀이 가득 차면 대기열에 쌓지 않고 503으로 응답한다.
+@ControllerAdvice
+public class RejectedRequestHandler {
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> rejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.board.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 읽기 전용 replica DataSource 목록과 상태.
+// 주기적으로 각 replica를 확인해서 연결이 안 되거나 복제 지연이 maxLagSeconds를 넘으면 제외한다.
+// 읽기 요청은 정상인 replica를 돌아가면서(round robin) 사용하고, 정상인 replica가 없으면 primary를 사용한다.
+@Slf4j
+public class ReplicaPool implements MeterBinder {
+    private final List<Replica> replicas;
+    private final String lagQuery; // 복제 지연(초)을 리턴하는 쿼리. 없으면 연결만 확인한다.
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(Map<String, DataSource> dataSources, String lagQuery, long maxLagSeconds) {
+        this.replicas = dataSources.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    // 정상인 replica 이름. 없으면 null
+    public String select() {
+        int size = replicas.size();
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    public Map<String, DataSource> getDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            dataSources.put(replica.name, replica.dataSource);
+        }
+        return dataSources;
+    }
+
+    @Scheduled(fixedDelayString = "${board.datasource.routing.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource);
+                if (lagQuery == null || lagQuery.isBlank()) {
+                    jdbcTemplate.queryForObject("select 1", Integer.class);
+                    replica.lagSeconds = 0;
+                    healthy = true;
+                } else {
+                    // 복제가 멈췄으면 지연이 null로 나온다.
+                    Long lag = jdbcTemplate.queryForObject(lagQuery, Long.class);
+                    replica.lagSeconds = lag == null ? -1 : lag;
+                    healthy = lag != null && lag <= maxLagSeconds;
+                }
+            } catch (RuntimeException ex) {
+                replica.lagSeconds = -1;
+                healthy = false;
+            }
+            if (replica.healthy != healthy) {
+                log.warn("replica {} is now {} (lag {}s)", replica.name, healthy ? "healthy" : "excluded", replica.lagSeconds);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // board.datasource.replica.healthy{name}, board.datasource.replica.lag{name}
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("board.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("name", replica.name)
+                    .register(registry);
+            Gauge.builder("board.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("name", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy; // 처음 확인하기 전에는 사용하지 않는다.
+        private volatile long lagSeconds = -1;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
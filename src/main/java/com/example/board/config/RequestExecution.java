@@ -0,0 +1,51 @@
+package com.example.board.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.concurrent.Callable;
+
+// DB를 읽는 컨트롤러 메소드의 실행 위치를 정한다. (board.execution.mode)
+// async : WebAsyncTask로 요청 전용 스레드 풀에서 실행하고 Tomcat 워커 스레드는 바로 반환한다.
+//         풀과 대기열이 모두 차면 대기하지 않고 503으로 실패한다.
+// 그 외 : 호출한 스레드(Tomcat 워커 또는 virtual thread)에서 바로 실행한다.
+// 컨트롤러는 Object를 리턴하고, Spring MVC는 실제 리턴 값의 타입(String 또는 WebAsyncTask)에 맞게 처리한다.
+@Component
+public class RequestExecution implements DisposableBean {
+    private final ThreadPoolTaskExecutor requestExecutor; // async 모드가 아니면 null
+    private final long timeoutMs;
+
+    public RequestExecution(@Value("${board.execution.mode:platform}") String mode,
+                            @Value("${board.execution.async-pool-size:64}") int poolSize,
+                            @Value("${board.execution.async-queue-capacity:256}") int queueCapacity,
+                            @Value("${board.execution.async-timeout-ms:30000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        if (!"async".equals(mode)) {
+            this.requestExecutor = null;
+            return;
+        }
+        requestExecutor = new ThreadPoolTaskExecutor();
+        requestExecutor.setCorePoolSize(poolSize);
+        requestExecutor.setMaxPoolSize(poolSize);
+        requestExecutor.setQueueCapacity(queueCapacity);
+        requestExecutor.setThreadNamePrefix("request-");
+        requestExecutor.initialize();
+    }
+
+    public Object run(Callable<String> handler) throws Exception {
+        if (requestExecutor != null) {
+            return new WebAsyncTask<>(timeoutMs, requestExecutor, handler);
+        }
+        return handler.call();
+    }
+
+    @Override
+    public void destroy() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.board.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// board.datasource.routing.enabled=true 이면 읽기 전용 트랜잭션을 replica로 보내는 DataSource를 만든다.
+// primary는 spring.datasource 설정을, replica는 board.datasource.routing.replicas 설정을 사용한다.
+// 각 풀은 빈으로 등록하지 않으므로(빈이면 DataSource가 여러 개가 된다) HikariCP 메트릭 연결과 종료를 여기서 직접 한다.
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ConditionalOnProperty(name = "board.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig implements DisposableBean {
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("board.datasource.routing")
+    public RoutingDataSourceProperties routingDataSourceProperties() {
+        return new RoutingDataSourceProperties();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(RoutingDataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<RoutingDataSourceProperties.Replica> replicaProperties = properties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            RoutingDataSourceProperties.Replica replica = replicaProperties.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(properties.getReplicaPoolSize());
+            dataSource.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(dataSource);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        ReplicaPool replicaPool = new ReplicaPool(replicas, properties.getLagQuery(), properties.getMaxLagSeconds());
+        replicaPool.checkHealth();
+        return replicaPool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaPool replicaPool,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        meterRegistry.ifAvailable(registry -> primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        pools.add(primary);
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaPool));
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
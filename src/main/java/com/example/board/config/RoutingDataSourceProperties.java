@@ -0,0 +1,26 @@
+package com.example.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// board.datasource.routing 설정
+@Getter
+@Setter
+public class RoutingDataSourceProperties {
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private String lagQuery; // 복제 지연(초)을 리턴하는 쿼리
+    private long maxLagSeconds = 5;
+    private int replicaPoolSize = 10;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.board.config;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// DataSource를 datasource-proxy로 감싸서 기준 시간보다 오래 걸린 쿼리를 SQL, 파라미터와 함께 WARN 로그로 남긴다.
+// HikariCP 메트릭은 unwrap으로 원래의 HikariDataSource를 찾아서 계속 기록된다.
+// 부하 테스트용으로 board.load-test.db-latency-ms를 지정하면 모든 쿼리 앞에서 그만큼 기다려서 느린 DB를 흉내낸다.
+@Component
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    private final long thresholdMs;
+    private final long injectedLatencyMs;
+
+    public SlowQueryDataSourcePostProcessor(@Value("${board.slow-query.threshold-ms:200}") long thresholdMs,
+                                            @Value("${board.load-test.db-latency-ms:0}") long injectedLatencyMs) {
+        this.thresholdMs = thresholdMs;
+        this.injectedLatencyMs = injectedLatencyMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource || (thresholdMs <= 0 && injectedLatencyMs <= 0)) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean).name(beanName);
+        if (injectedLatencyMs > 0) {
+            builder.beforeQuery((execInfo, queryInfoList) -> sleep(injectedLatencyMs));
+        }
+        if (thresholdMs > 0) {
+            builder.logSlowQueryBySlf4j(thresholdMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN);
+        }
+        return builder.build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.board.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// key(사용자, 세션, IP)별 토큰 버킷. GCRA(generic cell rate algorithm)로 구현해서 key마다 long 하나(다음 요청 허용 시각)만 저장한다.
+// 요청마다 CAS로 갱신하므로 락을 잡지 않는다.
+// key는 최대 maxKeys개까지 기억하고, 버킷이 가득 찰 만큼 쉬었던 key는 저장할 필요가 없으므로 그 시간이 지나면 지운다.
+final class TokenBuckets {
+    private final long intervalNanos; // 토큰 하나가 채워지는 시간
+    private final long toleranceNanos; // burst만큼 몰려도 허용하는 시간
+    private final Cache<String, AtomicLong> buckets;
+
+    TokenBuckets(double perSecond, int burst, long maxKeys) {
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(intervalNanos + toleranceNanos))
+                .build();
+    }
+
+    // 허용하면 0, 거절하면 다시 시도할 수 있을 때까지 남은 시간(ns)
+    long tryAcquire(String key) {
+        // System.nanoTime()은 음수일 수 있으므로 0이 아닌 가장 작은 값에서 시작한다.
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long previous = theoreticalArrival.get();
+            long arrival = Math.max(previous, now);
+            long wait = arrival - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(previous, arrival + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.board.config;
+
+import com.example.board.dto.Board;
+import com.example.board.service.BoardService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 시작 직후 준비 작업 (board.warm-up.enabled)
+// ApplicationRunner는 웹 서버가 뜬 뒤, readiness가 ACCEPTING_TRAFFIC으로 바뀌기 전에 실행된다.
+// 1. 커넥션 풀에 connections개의 커넥션을 미리 연결한다. (첫 요청들이 커넥션 생성을 기다리지 않는다)
+//    읽기/쓰기 분리(board.datasource.routing)를 사용하면 각 replica 풀도 같은 수만큼 연결한다.
+// 2. 자기 자신에게 목록, 상세 요청을 보내서 지연 초기화된 빈, 템플릿 캐시, JIT를 데운다.
+//    상세 요청은 시작할 때 만든 토큰을 헤더에 넣어서 조회수가 증가하지 않게 한다.
+// 마지막에 JVM 시작부터 준비 완료까지 걸린 시간을 로그로 남긴다.
+// board.warm-up.exit-after-warm-up=true면 준비 후 종료한다. (cdsArchive 태스크의 학습 실행)
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+    public static final String HEADER = "X-Board-Warm-Up";
+
+    private final ApplicationContext context;
+    private final DataSource dataSource;
+    private final ObjectProvider<ReplicaPool> replicaPool; // 읽기/쓰기 분리를 사용할 때만 있다.
+    private final BoardService boardService;
+    private final boolean enabled;
+    private final int connections;
+    private final int requests;
+    private final boolean exitAfterWarmUp;
+    private final String token = UUID.randomUUID().toString();
+
+    public WarmUpRunner(ApplicationContext context, DataSource dataSource, ObjectProvider<ReplicaPool> replicaPool, BoardService boardService,
+                        @Value("${board.warm-up.enabled:false}") boolean enabled,
+                        @Value("${board.warm-up.connections:10}") int connections,
+                        @Value("${board.warm-up.requests:20}") int requests,
+                        @Value("${board.warm-up.exit-after-warm-up:false}") boolean exitAfterWarmUp) {
+        this.context = context;
+        this.dataSource = dataSource;
+        this.replicaPool = replicaPool;
+        this.boardService = boardService;
+        this.enabled = enabled;
+        this.connections = connections;
+        this.requests = requests;
+        this.exitAfterWarmUp = exitAfterWarmUp;
+    }
+
+    // 준비 요청인지 확인한다. 토큰은 외부에 노출되지 않으므로 다른 요청이 조회수를 빼먹을 수 없다.
+    public boolean isWarmUpRequest(String headerValue) {
+        return token.equals(headerValue);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (enabled) {
+            long start = System.currentTimeMillis();
+            openConnections(dataSource);
+            replicaPool.ifAvailable(pool -> pool.getDataSources().forEach(this::openReplicaConnections));
+            long connected = System.currentTimeMillis();
+            renderPages();
+            log.info("warm-up done: {} connections in {} ms, {} requests in {} ms",
+                    connections, connected - start, requests, System.currentTimeMillis() - connected);
+        }
+        log.info("ready to serve {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (exitAfterWarmUp) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    // replica가 아직 준비되지 않았어도 시작은 계속한다. (ReplicaPool이 정상이 될 때까지 primary에서 읽는다)
+    private void openReplicaConnections(String name, DataSource replica) {
+        try {
+            openConnections(replica);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("warm-up could not connect to replica {}", name, ex);
+        }
+    }
+
+    private void openConnections(DataSource dataSource) throws SQLException {
+        // 풀 크기보다 많이 열면 반납하기 전까지 커넥션을 기다리며 멈추므로 풀 크기까지만 연다.
+        int count = connections;
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            count = Math.min(count, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        }
+        List<Connection> opened = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                // LazyConnectionDataSourceProxy(읽기/쓰기 분리)는 첫 쿼리에서 실제 커넥션을 얻는다.
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+
+    private void renderPages() throws Exception {
+        if (!(context instanceof WebServerApplicationContext) || ((WebServerApplicationContext) context).getWebServer() == null) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        List<Board> latest = boardService.getBoards(1);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (int i = 0; i < requests; i++) {
+            send(client, baseUrl + "/");
+            send(client, baseUrl + "/?page=2");
+            if (!latest.isEmpty()) {
+                send(client, baseUrl + "/board?boardId=" + latest.get(i % latest.size()).getBoardId());
+            }
+        }
+    }
+
+    private void send(HttpClient client, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header(HEADER, token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            log.warn("warm-up request {} returned {}", url, response.statusCode());
+        }
+    }
+}
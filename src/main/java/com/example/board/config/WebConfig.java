@@ -0,0 +1,22 @@
+package com.example.board.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Spring MVC 설정
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final ViewRenderTimingInterceptor viewRenderTimingInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final BodySizeLimitInterceptor bodySizeLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+        registry.addInterceptor(bodySizeLimitInterceptor).addPathPatterns("/write", "/update");
+        registry.addInterceptor(viewRenderTimingInterceptor);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.board.controller;
+
+import com.example.board.dto.Board;
+import com.example.board.dto.LoginInfo;
+import com.example.board.service.BoardService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시물 일괄 가져오기/내보내기. 한 줄에 글 하나인 NDJSON 또는 CSV를 스트리밍으로 읽고 쓴다. 관리자만 사용할 수 있다.
+// 형식은 가져오기는 Content-Type, 내보내기는 Accept로 고른다. (text/csv를 요청하지 않으면 NDJSON)
+// NDJSON 가져오기 형식 : {"userId":1,"title":"제목","content":"내용","regdate":"2023-01-01T10:00:00","viewCnt":0}
+// CSV 가져오기 형식 : 첫 줄은 헤더(userId,title,content,regdate,viewCnt 순서 무관, 그 밖의 컬럼은 무시). 내보낸 CSV를 그대로 가져올 수 있다.
+@RestController
+public class BoardBulkController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final List<String> CSV_EXPORT_HEADER = List.of("boardId", "userId", "name", "title", "content", "regdate", "viewCnt");
+
+    private final BoardService boardService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BoardBulkController(BoardService boardService, ObjectMapper objectMapper,
+                               @Value("${board.bulk.chunk-size:1000}") int chunkSize) {
+        this.boardService = boardService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostMapping(value = "/boards/import", consumes = NDJSON)
+    public ResponseEntity<Map<String, Integer>> importBoards(HttpServletRequest request, @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo) throws IOException {
+        checkAdmin(loginInfo);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(Map.of("imported", importAll(new NdjsonSource(reader))));
+        }
+    }
+
+    @PostMapping(value = "/boards/import", consumes = CSV)
+    public ResponseEntity<Map<String, Integer>> importCsvBoards(HttpServletRequest request, @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo) throws IOException {
+        checkAdmin(loginInfo);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            CsvSource source;
+            try {
+                source = new CsvSource(new BoardCsv.RecordReader(reader));
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+            }
+            return ResponseEntity.ok(Map.of("imported", importAll(source)));
+        }
+    }
+
+    // 전체 글을 board_id 순서로 내보낸다. DB에서 읽는 대로 바로 응답에 쓴다.
+    @GetMapping(value = "/boards/export", produces = {NDJSON, CSV})
+    public ResponseEntity<StreamingResponseBody> exportBoards(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                                              @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo) {
+        checkAdmin(loginInfo);
+        if (acceptsCsv(accept)) {
+            return ResponseEntity.ok().contentType(MediaType.parseMediaType(CSV + ";charset=UTF-8")).body(outputStream -> {
+                Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                BoardCsv.writeRecord(out, CSV_EXPORT_HEADER);
+                export(out, board -> BoardCsv.writeRecord(out, Arrays.asList(String.valueOf(board.getBoardId()),
+                        String.valueOf(board.getUserId()), board.getName(), board.getTitle(), board.getContent(),
+                        board.getRegdate() == null ? null : board.getRegdate().toString(), String.valueOf(board.getViewCnt()))));
+            });
+        }
+        ObjectWriter writer = objectMapper.writerFor(Board.class);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(outputStream -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            export(out, board -> {
+                out.write(writer.writeValueAsString(board));
+                out.write('\n');
+            });
+        });
+    }
+
+    // text/csv를 명시한 경우만 CSV. */* 이거나 Accept가 없으면 기존처럼 NDJSON
+    private boolean acceptsCsv(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> "text".equals(mediaType.getType()) && "csv".equals(mediaType.getSubtype()));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    private void export(Writer out, BoardWriter boardWriter) throws IOException {
+        boardService.exportBoards(board -> {
+            try {
+                boardWriter.write(board);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        out.flush();
+    }
+
+    // 입력에서 한 건씩 읽어서 chunkSize 건마다 batch insert 한다.
+    // 오류가 난 줄 앞의 chunk는 이미 커밋되어 있으므로 응답의 줄 번호 이후부터 다시 보내면 된다.
+    private int importAll(BoardSource source) throws IOException {
+        int imported = 0;
+        List<Board> chunk = new ArrayList<>(chunkSize);
+        Board board;
+        while ((board = next(source, imported)) != null) {
+            chunk.add(board);
+            if (chunk.size() == chunkSize) {
+                imported += boardService.importBoards(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += boardService.importBoards(chunk);
+        }
+        return imported;
+    }
+
+    private Board next(BoardSource source, int imported) throws IOException {
+        try {
+            return source.next();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage() + " (" + imported + "건 등록됨)");
+        }
+    }
+
+    private static Board checkRequired(Board board, int lineNumber) {
+        if (board.getUserId() <= 0 || board.getTitle() == null) {
+            throw new IllegalArgumentException("line " + lineNumber + ": userId, title은 필수입니다.");
+        }
+        return board;
+    }
+
+    private void checkAdmin(LoginInfo loginInfo) {
+        if (loginInfo == null || !loginInfo.getRoles().contains("ROLE_ADMIN")) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    // 가져올 글을 한 건씩 읽는다. 입력이 끝나면 null. 형식 오류는 "line N: ..." 메시지의 IllegalArgumentException
+    private interface BoardSource {
+        Board next() throws IOException;
+    }
+
+    private interface BoardWriter {
+        void write(Board board) throws IOException;
+    }
+
+    private final class NdjsonSource implements BoardSource {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Board next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return checkRequired(objectMapper.readValue(line, Board.class), lineNumber);
+                } catch (JsonProcessingException ex) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": " + ex.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvSource implements BoardSource {
+        private final BoardCsv.RecordReader reader;
+        private final Map<String, Integer> columns = new HashMap<>(); // 헤더 이름 -> 컬럼 위치
+
+        CsvSource(BoardCsv.RecordReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = reader.next();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).replace("\uFEFF", "").trim(), i); // 엑셀이 붙이는 BOM 제거
+            }
+            if (!columns.containsKey("userId") || !columns.containsKey("title")) {
+                throw new IllegalArgumentException("line 1: 헤더에 userId, title 컬럼이 필요합니다.");
+            }
+        }
+
+        @Override
+        public Board next() throws IOException {
+            List<String> record = reader.next();
+            if (record == null) {
+                return null;
+            }
+            int lineNumber = reader.getRecordLineNumber();
+            try {
+                Board board = new Board();
+                String userId = field(record, "userId");
+                board.setUserId(userId == null ? 0 : Integer.parseInt(userId.trim()));
+                board.setTitle(field(record, "title"));
+                board.setContent(field(record, "content"));
+                String regdate = field(record, "regdate");
+                board.setRegdate(regdate == null ? null : LocalDateTime.parse(regdate.trim()));
+                String viewCnt = field(record, "viewCnt");
+                board.setViewCnt(viewCnt == null ? 0 : Integer.parseInt(viewCnt.trim()));
+                return checkRequired(board, lineNumber);
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + ex.getMessage());
+            }
+        }
+
+        // 빈 값이나 없는 컬럼은 null
+        private String field(List<String> record, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+                return null;
+            }
+            return record.get(index);
+        }
+    }
+}
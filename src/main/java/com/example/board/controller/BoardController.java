@@ -1,16 +1,32 @@
 package com.example.board.controller;
 
+import com.example.board.config.RequestExecution;
+import com.example.board.config.WarmUpRunner;
 import com.example.board.dto.Board;
 import com.example.board.dto.LoginInfo;
+import com.example.board.dto.Pager;
+import com.example.board.search.SearchResult;
 import com.example.board.service.BoardService;
+import com.example.board.service.BoardWritePipeline;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 // http요청 받아 응답하는 컴포넌트. 스프링부트가 자동으로 Bean으로 생성한다.
@@ -18,49 +34,120 @@ import java.util.List;
 @RequiredArgsConstructor // service 생성자 주입
 public class BoardController {
     private final BoardService boardService;
+    private final RequestExecution requestExecution;
+    private final BoardWritePipeline boardWritePipeline;
+    private final WarmUpRunner warmUpRunner;
+
+    private static final int PAGER_WINDOW = 10; // 한 번에 출력하는 페이지 번호 수
+    // 브라우저는 저장해 두되 매번 ETag로 확인하고, 공유 캐시(프록시)는 저장하지 않는다.
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
 
     // 컨트롤러의 메소드가 리턴하는 문자열은 템플릿 이름이다.
     // Model : 템플릿에 값을 전달하기 위한 객체
 
     // 게시물 목록
+    // DB를 읽는 목록, 검색, 상세보기는 board.execution.mode에 따라 요청 전용 풀에서 실행될 수 있다. (RequestExecution)
     @GetMapping("/")
-    public String list(@RequestParam(name = "page", defaultValue = "1") int page, HttpSession session, Model model) { // HttpSession, Model은 Spring이 자동으로 넣어준다
+    public Object list(@RequestParam(name = "page", defaultValue = "1") int page,
+                       @RequestParam(name = "after", required = false) Integer after, // 커서 방식 : 마지막으로 본 boardId
+                       @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo, Model model,
+                       WebRequest webRequest, HttpServletResponse response) throws Exception { // 로그인 정보는 LoginInfoFilter가, Model은 Spring이 자동으로 넣어준다
+        // 목록이 바뀌지 않았으면 목록을 읽거나 렌더링하지 않고 304로 응답한다.
+        // 로그인 영역이 사용자마다 다르므로 ETag에 사용자를 넣는다. (비로그인은 0)
+        long version = boardService.getListVersion();
+        String etag = "\"l" + (loginInfo == null ? 0 : loginInfo.getUserId()) + "-" + version + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        if (webRequest.checkNotModified(etag, version)) {
+            return null;
+        }
         //게시물 목록 읽어온다.
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
         model.addAttribute("loginInfo", loginInfo);
 
-        //페이징 처리한다.
-        int totalCount = boardService.getTotalCount();
-        List<Board> list = boardService.getBoards(page);
-        // 전체 페이지 수
-        int pageCount = totalCount / 10;
-        if (totalCount % 10 > 0) {
-            pageCount++;
-        }
-        // 현재 페이지
-        int currentPage = page;
-        model.addAttribute("list", list);
-        model.addAttribute("pageCount", pageCount);
-        model.addAttribute("currentPage", currentPage);
-        return "list"; // classpath:/templates/list.html
+        return requestExecution.run(() -> {
+            //페이징 처리한다.
+            int totalCount = boardService.getTotalCount();
+            // after가 있으면 커서 방식, 없으면 기존 page(offset) 방식으로 읽어온다.
+            List<Board> list = after != null ? boardService.getBoardsAfter(after) : boardService.getBoards(page);
+            // 다음 목록을 읽을 커서. 10건을 다 채웠을 때만 다음 목록이 있을 수 있다.
+            Integer nextCursor = list.size() == 10 ? list.get(list.size() - 1).getBoardId() : null;
+            // 페이지 번호는 현재 페이지 주변 PAGER_WINDOW개만 출력한다.
+            Pager pager = new Pager(page, totalCount, 10, PAGER_WINDOW);
+            model.addAttribute("list", list);
+            model.addAttribute("pager", pager);
+            model.addAttribute("pageCount", pager.getPageCount());
+            model.addAttribute("currentPage", pager.getCurrentPage());
+            model.addAttribute("nextCursor", nextCursor);
+            return "list"; // classpath:/templates/list.html
+        });
+    }
+
+    // 글 검색 (제목 + 내용)
+    @GetMapping("/search")
+    public Object search(@RequestParam("q") String q,
+                         @RequestParam(name = "page", defaultValue = "1") int page,
+                         @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo, Model model) throws Exception {
+        model.addAttribute("loginInfo", loginInfo);
+
+        return requestExecution.run(() -> {
+            SearchResult result = boardService.search(q, page);
+            List<Board> list = boardService.getBoardsByIds(result.getBoardIds());
+            Pager pager = new Pager(page, result.getTotalCount(), 10, PAGER_WINDOW);
+            model.addAttribute("q", q);
+            model.addAttribute("list", list);
+            model.addAttribute("totalCount", result.getTotalCount());
+            model.addAttribute("pager", pager);
+            model.addAttribute("pageCount", pager.getPageCount());
+            model.addAttribute("currentPage", pager.getCurrentPage());
+            return "search";
+        });
     }
 
     // 글 상세보기
     @GetMapping("/board")
-    public String board(@RequestParam("boardId") int boardId, Model model) {
-        // id에 해당하는 게시물을 읽어온다
-        // id에 해당하는 게시물의 조회수도 1 증가한다.
-        Board board = boardService.getBoard(boardId);
-        model.addAttribute("board", board);
-        return "board";
+    public Object board(@RequestParam("boardId") int boardId, Model model,
+                        @RequestHeader(name = WarmUpRunner.HEADER, required = false) String warmUp,
+                        WebRequest webRequest, HttpServletResponse response) throws Exception {
+        // 글이 바뀌지 않았으면 글을 읽거나 렌더링하지 않고 304로 응답한다. 조회수는 그대로 센다.
+        // 없는 글의 id로 보낸 조건부 요청이 304와 조회수를 받지 않도록, 조건부 요청이면 글이 있는지 먼저 본다. (대부분 캐시에 있는 글이다)
+        // 조건부 요청이 아니어도 checkNotModified는 호출해야 응답에 ETag, Last-Modified가 붙는다.
+        long version = boardService.getBoardVersion(boardId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        boolean unknownBoard = isConditional(webRequest) && !boardService.exists(boardId);
+        if (!unknownBoard && webRequest.checkNotModified("\"b" + boardId + "-" + version + "\"", version)) {
+            boardService.recordView(boardId);
+            return null;
+        }
+        return requestExecution.run(() -> {
+            // id에 해당하는 게시물을 읽어온다
+            // id에 해당하는 게시물의 조회수도 1 증가한다. (시작 시 준비 요청은 제외)
+            Board board = boardService.getBoard(boardId, !warmUpRunner.isWarmUpRequest(warmUp));
+            model.addAttribute("board", board);
+            return "board";
+        });
+    }
+
+    // 긴 글의 전체 내용. 상세보기에는 앞부분만 나오고, 전체 내용은 조각씩 DB에서 읽어서 응답으로 보낸다.
+    // 조각을 보내는 동안에는 커넥션을 잡고 있지 않으므로 느린 클라이언트가 커넥션 풀을 차지하지 않는다.
+    @GetMapping("/board/content")
+    public ResponseEntity<StreamingResponseBody> content(@RequestParam("boardId") int boardId) {
+        if (!boardService.exists(boardId)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            boardService.writeContent(boardId, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
     }
 
     // 글쓰기 열기
     @GetMapping("/writeForm")
-    public String writeForm(HttpSession session, Model model) {
+    public String writeForm(@RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo, Model model) {
         // 로그인한 사용자만 글을 써야한다.
-        // 세션에서 로그인한 정보를 읽어들인다. 로그인 하지 않았다면 리스트보기로 자동 이동 시킨다.
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
+        // 로그인 하지 않았다면 로그인폼으로 자동 이동 시킨다.
         if (loginInfo == null) {
             return "redirect:/loginform";
         }
@@ -74,16 +161,16 @@ public class BoardController {
     public String write(
             @RequestParam("title") String title,
             @RequestParam("content") String content,
-            HttpSession session
+            @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo
     ) {
         // 로그인한 사용자만 글을 써야함
-        // 세션에서 로그인한 정보를 읽어들인다. 로그인 하지 않았다면 리스트보기로 자동 이동 시킨다.
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
+        // 로그인 하지 않았다면 로그인폼으로 자동 이동 시킨다.
         if (loginInfo == null) {
             return "redirect:/loginform";
         }
         // 로그인한 회원 정보 + 제목, 내용을 저장한다.
-        boardService.addBoard(loginInfo.getUserId(), title, content);
+        // 파이프라인을 사용하면 다른 글과 함께 커밋되고, 커밋이 끝난 뒤에 리다이렉트한다.
+        boardWritePipeline.write(loginInfo.getUserId(), title, content);
 
         return "redirect:/";
     }
@@ -92,10 +179,9 @@ public class BoardController {
     @GetMapping("/delete")
     public String delete(
             @RequestParam("boardId") int boardId,
-            HttpSession session
+            @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo
     ) {
-        // 세션에 로그인 정보가 없으면 /loginform으로 redirect
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
+        // 로그인 정보가 없으면 /loginform으로 redirect
         if (loginInfo == null) {
             return "redirect:/loginform";
         }
@@ -114,14 +200,18 @@ public class BoardController {
 
     //글 수정
     @GetMapping("/updateform")
-    public String updateform(@RequestParam("boardId") int boardId, Model model, HttpSession session){
-        // 세션에 로그인 정보가 없으면 /loginform으로 redirect
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
+    public String updateform(@RequestParam("boardId") int boardId, Model model, @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo){
+        // 로그인 정보가 없으면 /loginform으로 redirect
         if (loginInfo == null) {
             return "redirect:/loginform";
         }
+        // 글쓴이만 수정 가능. 내용을 읽기 전에 작성자부터 확인한다.
+        if(!boardService.isOwner(loginInfo.getUserId(), boardId)){
+            return "redirect:/board?boardId=" + boardId;
+        }
         //boardId에 해당하는 정보를 읽어와서 updateform 템플릿에 전달한다.
-        Board board = boardService.getBoard(boardId, false); // 글읽어오면서 + 조회수 증가함
+        Board board = boardService.getBoard(boardId, false); // 조회수는 증가하지 않는다
+        board.setContent(boardService.getBoardContent(boardId)); // 상세보기 캐시에는 앞부분만 있으므로 전체 내용을 읽는다
         model.addAttribute("board", board);
         model.addAttribute("loginInfo", loginInfo);
         return "updateform";
@@ -131,20 +221,24 @@ public class BoardController {
     public String update(@RequestParam("boardId") int boardId,
                          @RequestParam("title") String title,
                          @RequestParam("content") String content,
-                         HttpSession session){
-        // 세션에 로그인 정보가 없으면 /loginform으로 redirect
-        LoginInfo loginInfo = (LoginInfo) session.getAttribute("loginInfo");
+                         @RequestAttribute(name = "loginInfo", required = false) LoginInfo loginInfo){
+        // 로그인 정보가 없으면 /loginform으로 redirect
         if (loginInfo == null) {
             return "redirect:/loginform";
         }
-        // 글쓴이만 수정 가능
-        Board board = boardService.getBoard(boardId, false);
-        if(board.getUserId() != loginInfo.getUserId()){
-            return "redirect: /board?boardId=" + boardId; // 글 상세로 이동
+        // 글쓴이만 수정 가능. 글 내용은 읽지 않고 작성자만 확인한다.
+        if(!boardService.isOwner(loginInfo.getUserId(), boardId)){
+            return "redirect:/board?boardId=" + boardId; // 글 상세로 이동
         }
         // boardId에 해당하는 글을 수정한다
         boardService.updateBoard(boardId, title, content);
 
         return "redirect:/board?boardId=" + boardId; // 수정된 글 보기로 리다이렉트
     }
+
+    // If-None-Match 또는 If-Modified-Since가 있는 요청
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
 }
@@ -0,0 +1,124 @@
+package com.example.board.controller;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// 일괄 가져오기/내보내기의 CSV(RFC 4180) 읽기/쓰기.
+// 필드에 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싸고 안의 큰따옴표는 두 번 쓴다. 글 내용의 줄바꿈 때문에 한 레코드가 여러 줄일 수 있다.
+final class BoardCsv {
+    private BoardCsv() {
+    }
+
+    static void writeRecord(Writer out, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, fields.get(i));
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    // 레코드를 하나씩 읽는다. 입력을 한꺼번에 읽지 않는다.
+    static final class RecordReader {
+        private final Reader in;
+        private int lineNumber = 1; // 현재 읽고 있는 줄
+        private int recordLineNumber; // 마지막으로 읽은 레코드가 시작한 줄
+        private int pushedBack = -2; // 미리 읽은 문자. -2면 없음
+
+        RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        // 다음 레코드의 필드 목록. 입력이 끝났으면 null. 빈 줄은 건너뛴다.
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                c = skipNewline(c);
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLineNumber = lineNumber;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            while (true) {
+                if (c == '"' && field.length() == 0) {
+                    c = readQuoted(field);
+                }
+                if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    if (c != -1) {
+                        pushedBack = skipNewline(c);
+                    }
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        int getRecordLineNumber() {
+            return recordLineNumber;
+        }
+
+        // 여는 큰따옴표 다음부터 닫는 큰따옴표까지 읽고, 그 다음 문자를 리턴한다.
+        private int readQuoted(StringBuilder field) throws IOException {
+            int start = lineNumber;
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    throw new IllegalArgumentException("line " + start + ": 닫는 큰따옴표가 없습니다.");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        return next;
+                    }
+                } else if (c == '\n') {
+                    lineNumber++;
+                }
+                field.append((char) c);
+            }
+        }
+
+        // \r\n, \n, \r 중 하나를 건너뛰고 다음 문자를 리턴한다.
+        private int skipNewline(int c) throws IOException {
+            lineNumber++;
+            int next = read();
+            if (c == '\r' && next == '\n') {
+                next = read();
+            }
+            return next;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return in.read();
+        }
+    }
+}
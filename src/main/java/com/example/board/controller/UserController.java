@@ -2,21 +2,31 @@ package com.example.board.controller;
 
 import com.example.board.dto.LoginInfo;
 import com.example.board.dto.User;
+import com.example.board.service.PasswordHasher;
 import com.example.board.service.UserService;
+import com.example.board.session.LoginInfoStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import javax.servlet.http.HttpSession;
-import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 public class UserController{
 
     private final UserService userService;
+    private final LoginInfoStore loginInfoStore;
+    private final PasswordHasher passwordHasher;
+    private final ThreadPoolTaskExecutor applicationTaskExecutor; // Spring MVC 비동기 요청용 풀 (spring.task.execution)
 
     @GetMapping("/userRegForm")
     public String userRegForm(){
@@ -24,15 +34,18 @@ public class UserController{
     }
 
     @PostMapping("/userRegForm")
-    public String userReg(
+    public CompletableFuture<String> userReg(
             @RequestParam("name") String name,
             @RequestParam("email") String email,
             @RequestParam("password") String password
     ){
-        // user 정보 저장한다.
-        userService.addUser(name, email, password);
-
-        return "redirect:/welcome"; // 브라우저에게 자동으로 http://localhost:8080/welcome 으로 GET 요청
+        // 비밀번호는 PasswordHasher의 전용 풀에서 해시하고, Tomcat 워커 스레드는 바로 반환한다.
+        // 저장(JDBC)은 해시 풀의 CPU를 차지하지 않도록 비동기 요청용 풀에서 실행한다.
+        return passwordHasher.hash(password).thenApplyAsync(hashedPassword -> {
+            // user 정보 저장한다.
+            userService.addUser(name, email, hashedPassword);
+            return "redirect:/welcome"; // 브라우저에게 자동으로 http://localhost:8080/welcome 으로 GET 요청
+        }, applicationTaskExecutor);
     }
 
     @GetMapping("/welcome")
@@ -46,34 +59,55 @@ public class UserController{
     }
 
     @PostMapping("/login")
-    public String login(
+    public CompletableFuture<String> login(
             @RequestParam("email") String email,
             @RequestParam("password") String password,
-            HttpSession httpSession // Spring이 자동으로 session 처리하는 HttpSession 객체를 넣어준다.
+            HttpServletRequest request,
+            HttpServletResponse response
     ){
-        // email에 해당하는 회원정보 불러온 후
+        // email에 해당하는 회원정보와 권한을 불러온다. (DB 조회는 워커 스레드에서)
+        User user;
         try{
-            User user = userService.getUser(email);
-            if(user.getPassword().equals(password)){
-                // 아이디 암호 맞다면 세션에 회원정보 저장
-                LoginInfo loginInfo = new LoginInfo(user.getUserId(), user.getEmail(), user.getName());
-                // 권한 정보 읽어와서 loginInfo에 추가한다.
-                List<String> roles = userService.getRoles(user.getUserId());
-                loginInfo.setRoles(roles);
-                httpSession.setAttribute("loginInfo", loginInfo); // 1파라미터 키, 2파라미터 값
-            }else{
-                throw new RuntimeException("암호가 일치하지 않음");
-            }
+            user = userService.getUser(email);
         }catch(Exception ex){
-            return "redirect:/loginform?error=true";
+            return CompletableFuture.completedFuture("redirect:/loginform?error=true");
+        }
+        // 암호 확인(bcrypt)은 PasswordHasher의 전용 풀에서 실행하고, Tomcat 워커 스레드는 바로 반환한다.
+        // 응답이 끝나기 전이므로 확인이 끝난 스레드에서 로그인 정보를 저장해도 된다.
+        return passwordHasher.matches(password, user.getPassword()).thenApply(matched -> {
+            if(!matched){
+                return "redirect:/loginform?error=true";
+            }
+            // 아이디 암호 맞다면 로그인 정보 저장 (board.session.mode에 따라 세션 또는 서명된 쿠키)
+            LoginInfo loginInfo = new LoginInfo(user.getUserId(), user.getEmail(), user.getName());
+            loginInfo.setRoles(user.getRoles());
+            loginInfoStore.save(request, response, loginInfo);
+            if(passwordHasher.needsUpgrade(user.getPassword())){
+                upgradePassword(user.getUserId(), password);
+            }
+            return "redirect:/";
+        }).exceptionally(ex -> "redirect:/loginform?error=true");
+    }
+
+    // 평문이나 낮은 비용으로 저장된 암호는 로그인할 때 새로 해시해서 바꿔둔다. 응답을 기다리게 하지 않는다.
+    // 로그인은 이미 성공했으므로 해시 풀이 가득 찼거나 저장에 실패해도 결과를 바꾸지 않고 다음 로그인 때 다시 시도한다.
+    private void upgradePassword(int userId, String password){
+        try{
+            passwordHasher.hash(password)
+                    .thenAcceptAsync(hashedPassword -> userService.upgradePassword(userId, hashedPassword), applicationTaskExecutor)
+                    .exceptionally(ex -> {
+                        log.warn("password upgrade failed. userId={}", userId, ex);
+                        return null;
+                    });
+        }catch(TaskRejectedException ex){
+            log.debug("password upgrade skipped. hasher queue is full. userId={}", userId);
         }
-        return "redirect:/";
     }
 
     @GetMapping("/logout")
-    public String logout(HttpSession httpSession){
-        // 세션에서 회원정보 삭제한다
-        httpSession.removeAttribute("loginInfo");
+    public String logout(HttpServletRequest request, HttpServletResponse response){
+        // 로그인 정보를 삭제한다
+        loginInfoStore.clear(request, response);
         return "redirect:/";
     }
 
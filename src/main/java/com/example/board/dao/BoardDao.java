@@ -1,9 +1,8 @@
 package com.example.board.dao;
 
 import com.example.board.dto.Board;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
-import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
@@ -15,6 +14,8 @@ import javax.sql.DataSource;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Repository
 public class BoardDao {
@@ -23,24 +24,64 @@ public class BoardDao {
 
     private final SimpleJdbcInsertOperations insertBoard;
 
+    // 상세보기에서 읽어오는 내용 길이. 이보다 긴 글은 전체 내용을 따로 읽는다.
+    static final int CONTENT_PREVIEW_LENGTH = 4000;
+
+    // 전체 내용을 나눠 읽을 때 한 번에 읽는 글자 수
+    public static final int CONTENT_CHUNK_LENGTH = 65536;
+
+    private final UserNameDictionary userNames; // 작성자 이름. 글 조회 쿼리에서 user 조인을 하지 않는다.
+
     // 생성자 주입. 스프링이 자동으로 HikariCP Bean을 주입한다.
     public BoardDao(DataSource dataSource){
         jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         insertBoard = new SimpleJdbcInsert(dataSource)
                 .withTableName("board")
                 .usingGeneratedKeyColumns("board_id");//자동으로 증가되는 id 설정
+        userNames = new UserNameDictionary(jdbcTemplate);
     }
 
-    // 글 등록
+    // 글 등록. 자동 생성된 board_id를 리턴한다.
     @Transactional
-    public void addBoard(int userId, String title, String content) {
+    public int addBoard(int userId, String title, String content) {
         Board board = new Board();
         board.setUserId(userId);
         board.setTitle(title);
         board.setContent(content);
         board.setRegdate(LocalDateTime.now());
         SqlParameterSource params = new BeanPropertySqlParameterSource(board);
-        insertBoard.execute(params); // 자동 생성 id 받을 필요 없으므로 executeReturnKey아니고 그냥 execute
+        Number boardId = insertBoard.executeAndReturnKey(params); // 검색 색인에 쓰기 위해 자동 생성 id를 받는다.
+        return boardId.intValue();
+    }
+
+    // 글 일괄 등록. JDBC batch로 한 번에 실행한다. (MySQL은 rewriteBatchedStatements=true면 multi-row insert로 바꿔서 보낸다)
+    @Transactional
+    public int addBoards(List<Board> boards) {
+        String sql = "insert into board (user_id, title, content, regdate, view_cnt) values (:userId, :title, :content, :regdate, :viewCnt)";
+        SqlParameterSource[] params = boards.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, params);
+        return boards.size();
+    }
+
+    // board_id가 afterBoardId보다 큰 글 전체를 board_id 순서로 읽는다. (내보내기, 검색 색인용)
+    // 한 건씩 consumer에 넘기므로 전체를 힙에 올리지 않는다. 작성자 이름은 스트리밍 중인 커넥션이 아닌 다른 커넥션으로 읽는다.
+    public void exportBoards(int afterBoardId, Consumer<Board> consumer) {
+        String sql = "select user_id, board_id, title, regdate, view_cnt, content from board where board_id > :afterBoardId order by board_id";
+        StreamingQuery.query(jdbcTemplate.getJdbcTemplate().getDataSource(), sql, Map.of("afterBoardId", afterBoardId), rs -> {
+            Board board = BoardRowMapper.DETAIL.mapRow(rs, 0);
+            userNames.fill(board);
+            consumer.accept(board);
+        });
+    }
+
+    // 가장 최근 board_id. 글이 없으면 0
+    @Transactional(readOnly = true)
+    public int getMaxBoardId() {
+        String sql = "select coalesce(max(board_id), 0) from board";
+        Integer maxBoardId = jdbcTemplate.queryForObject(sql, Map.of(), Integer.class);
+        return maxBoardId.intValue();
     }
 
     // 페이징 : 글 갯수 조회
@@ -56,22 +97,80 @@ public class BoardDao {
     public List<Board> getBoards(int page) {
         // start = 0, 10, 20, 30 는 1page, 2page, 3page, 4page
         int start = (page - 1) * 10;
-        String sql = "select b.user_id, b.board_id, b.title, b.regdate, b.view_cnt, u.name from board b, user u where b.user_id = u.user_id order by board_id desc limit :start, 10";
-        RowMapper<Board> rowMapper = BeanPropertyRowMapper.newInstance(Board.class);
-        List<Board> list = jdbcTemplate.query(sql, Map.of("start", start), rowMapper);
+        // user 조인 없이 board의 PK 인덱스만 역순으로 읽는다.
+        String sql = "select user_id, board_id, title, regdate, view_cnt from board order by board_id desc limit :start, 10";
+        List<Board> list = jdbcTemplate.query(sql, Map.of("start", start), BoardRowMapper.LIST);
+        userNames.fill(list);
+        return list;
+    }
+
+    // 최근 글 limit건 조회 (목록 스냅샷용)
+    @Transactional(readOnly = true)
+    public List<Board> getLatestBoards(int limit) {
+        String sql = "select user_id, board_id, title, regdate, view_cnt from board order by board_id desc limit :limit";
+        List<Board> list = jdbcTemplate.query(sql, Map.of("limit", limit), BoardRowMapper.LIST);
+        userNames.fill(list);
+        return list;
+    }
+
+    // 글 목록 조회 - 커서(keyset) 방식
+    // 마지막으로 본 board_id보다 작은 글을 10건 읽어온다. limit :start, 10 처럼 앞의 row를 읽고 버리지 않으므로
+    // 몇 번째 페이지든 PK 인덱스 범위 스캔 10건으로 끝난다.
+    @Transactional(readOnly = true)
+    public List<Board> getBoardsAfter(int lastBoardId) {
+        String sql = "select user_id, board_id, title, regdate, view_cnt from board where board_id < :lastBoardId order by board_id desc limit 10";
+        List<Board> list = jdbcTemplate.query(sql, Map.of("lastBoardId", lastBoardId), BoardRowMapper.LIST);
+        userNames.fill(list);
+        return list;
+    }
+
+    // boardId 목록에 해당하는 글 조회 (검색 결과용). board_id 역순으로 리턴한다.
+    @Transactional(readOnly = true)
+    public List<Board> getBoardsByIds(List<Integer> boardIds) {
+        if (boardIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "select user_id, board_id, title, regdate, view_cnt from board where board_id in (:boardIds) order by board_id desc";
+        List<Board> list = jdbcTemplate.query(sql, Map.of("boardIds", boardIds), BoardRowMapper.LIST);
+        userNames.fill(list);
         return list;
     }
 
     // 글 상세보기
+    // 내용은 앞 CONTENT_PREVIEW_LENGTH 글자만 읽는다. 전체 길이는 contentLength, 전체 내용은 getContentChunk로 나눠 읽는다.
     @Transactional(readOnly = true)
     public Board getBoard(int boardId) {
         // 1건 또는 0건 -> queryForObject
-        String sql = "select b.user_id, b.board_id, b.title, b.regdate, b.view_cnt, u.name, b.content from board b, user u where b.user_id = u.user_id and b.board_id=:boardId";
-        RowMapper<Board> rowMapper = BeanPropertyRowMapper.newInstance(Board.class);
-        Board board = jdbcTemplate.queryForObject(sql, Map.of("boardId", boardId), rowMapper);
+        String sql = "select user_id, board_id, title, regdate, view_cnt, substring(content, 1, :previewLength), char_length(content) from board where board_id=:boardId";
+        Board board = jdbcTemplate.queryForObject(sql, Map.of("boardId", boardId, "previewLength", CONTENT_PREVIEW_LENGTH), BoardRowMapper.PREVIEW);
+        userNames.fill(board);
         return board;
     }
 
+    // 작성자 확인용. 글이 없으면 null
+    @Transactional(readOnly = true)
+    public Integer getBoardUserId(int boardId) {
+        String sql = "select user_id from board where board_id = :boardId";
+        List<Integer> userIds = jdbcTemplate.queryForList(sql, Map.of("boardId", boardId), Integer.class);
+        return userIds.isEmpty() ? null : userIds.get(0);
+    }
+
+    // 전체 내용 (수정폼용)
+    @Transactional(readOnly = true)
+    public String getBoardContent(int boardId) {
+        String sql = "select content from board where board_id = :boardId";
+        return jdbcTemplate.queryForObject(sql, Map.of("boardId", boardId), String.class);
+    }
+
+    // 내용의 offset번째 글자(1부터)부터 length 글자. 글이 없으면 null
+    // 쿼리마다 커넥션을 바로 반납하므로 긴 글을 느린 클라이언트에 보내는 동안에도 커넥션을 잡고 있지 않는다.
+    @Transactional(readOnly = true)
+    public String getContentChunk(int boardId, int offset, int length) {
+        String sql = "select substring(content, :offset, :length) from board where board_id = :boardId";
+        List<String> chunks = jdbcTemplate.queryForList(sql, Map.of("boardId", boardId, "offset", offset, "length", length), String.class);
+        return chunks.isEmpty() ? null : Objects.requireNonNullElse(chunks.get(0), "");
+    }
+
     // 글 상세보기 - 조회수 증가
     @Transactional
     public void updateViewCnt(int boardId) {
@@ -79,11 +178,23 @@ public class BoardDao {
         jdbcTemplate.update(sql, Map.of("boardId", boardId));
     }
 
-    // 글 삭제
+    // 조회수 일괄 반영 : boardId -> 증가분을 하나의 batch update로 실행한다.
     @Transactional
-    public void deleteBoard(int boardId) {
+    public void updateViewCnts(Map<Integer, Long> increments) {
+        String sql = "update board set view_cnt = view_cnt + :count where board_id = :boardId";
+        SqlParameterSource[] params = increments.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("boardId", entry.getKey())
+                        .addValue("count", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, params);
+    }
+
+    // 글 삭제. 삭제된 건수를 리턴한다.
+    @Transactional
+    public int deleteBoard(int boardId) {
         String sql = "delete from board where board_id = :boardId";
-        jdbcTemplate.update(sql, Map.of("boardId", boardId));
+        return jdbcTemplate.update(sql, Map.of("boardId", boardId));
     }
 
     @Transactional
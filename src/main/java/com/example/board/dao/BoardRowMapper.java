@@ -0,0 +1,49 @@
+package com.example.board.dao;
+
+import com.example.board.dto.Board;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// board 조회 결과를 컬럼 순서(index)로 Board에 매핑한다.
+// BeanPropertyRowMapper처럼 쿼리마다 리플렉션으로 프로퍼티를 찾고 컬럼 이름을 비교하지 않는다.
+// 컬럼 순서 : user_id, board_id, title, regdate, view_cnt [, content [, char_length(content)]]
+// 작성자 이름(name)은 board 테이블만 읽고 나서 UserNameDictionary가 채운다.
+final class BoardRowMapper implements RowMapper<Board> {
+    static final BoardRowMapper LIST = new BoardRowMapper(false, false); // 목록 : content 제외
+    static final BoardRowMapper DETAIL = new BoardRowMapper(true, false); // 내보내기 : content 전체
+    static final BoardRowMapper PREVIEW = new BoardRowMapper(true, true); // 상세 : content 앞부분과 전체 길이
+
+    private final boolean withContent;
+    private final boolean withContentLength;
+
+    private BoardRowMapper(boolean withContent, boolean withContentLength) {
+        this.withContent = withContent;
+        this.withContentLength = withContentLength;
+    }
+
+    @Override
+    public Board mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Board board = new Board();
+        board.setUserId(rs.getInt(1));
+        board.setBoardId(rs.getInt(2));
+        board.setTitle(rs.getString(3));
+        board.setRegdate(rs.getObject(4, LocalDateTime.class));
+        board.setViewCnt(rs.getInt(5));
+        if (withContent) {
+            String content = rs.getString(6);
+            board.setContent(content);
+            // char_length는 글자(code point) 수이므로 content도 code point로 센다. (이모지 등은 String.length()로 2)
+            int previewLength = content == null ? 0 : content.codePointCount(0, content.length());
+            if (withContentLength) {
+                board.setContentLength(rs.getInt(7));
+                board.setTruncated(board.getContentLength() > previewLength);
+            } else {
+                board.setContentLength(previewLength);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.board.dao;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+// 테이블 전체를 읽는 쿼리(내보내기, 검색 색인, 이메일 필터)를 결과를 버퍼링하지 않고 한 건씩 읽는다.
+// MySQL Connector/J는 fetchSize가 Integer.MIN_VALUE일 때만 결과를 스트리밍한다. 다른 드라이버는 음수 fetchSize를 거부하므로
+// FETCH_SIZE 단위로 읽고, PostgreSQL 등은 autocommit이 꺼져 있어야 커서를 쓰므로 읽기 전용 트랜잭션 안에서 읽는다.
+// 스트리밍 중인 커넥션에서는 다른 쿼리를 실행할 수 없으므로, 트랜잭션에 묶인 커넥션이 아닌 전용 커넥션을 풀에서 받는다.
+final class StreamingQuery {
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int FETCH_SIZE = 1000;
+
+    private StreamingQuery() {
+    }
+
+    static void query(DataSource dataSource, String sql, Map<String, ?> params, RowCallbackHandler handler) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", ex);
+        }
+        try {
+            boolean mysql = isMySql(connection);
+            boolean autoCommit = connection.getAutoCommit();
+            if (!mysql) {
+                connection.setReadOnly(true);
+                connection.setAutoCommit(false);
+            }
+            try {
+                JdbcTemplate streamingTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                streamingTemplate.setFetchSize(mysql ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE);
+                new NamedParameterJdbcTemplate(streamingTemplate).query(sql, params, handler);
+            } finally {
+                if (!mysql) {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                    connection.setReadOnly(false);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("streaming query failed: " + sql, ex);
+        } finally {
+            JdbcUtils.closeConnection(connection);
+        }
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+}
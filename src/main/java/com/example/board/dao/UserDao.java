@@ -1,8 +1,6 @@
 package com.example.board.dao;
 
 import com.example.board.dto.User;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
-import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -16,6 +14,7 @@ import javax.sql.DataSource;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 // Spring이 관리하는 Bean. Spring JDBC를 이용한 코드
 @Repository
@@ -50,6 +49,13 @@ public class UserDao {
         return user;
     }
 
+    // 비밀번호 변경 (평문 또는 낮은 비용의 해시를 다시 해시해서 저장)
+    @Transactional
+    public void updatePassword(int userId, String password) {
+        String sql = "update user set password = :password where user_id = :userId";
+        jdbcTemplate.update(sql, Map.of("userId", userId, "password", password));
+    }
+
     //회원가입 : user role 추가
     @Transactional
     public void mappingUserRole(int userId){
@@ -65,15 +71,21 @@ public class UserDao {
         try {
             String sql = "select user_id, email, name, password, regdate from user where email = :email";
             SqlParameterSource params = new MapSqlParameterSource("email", email);
-            //row mapper가 dto와 동일 규칙을 갖고 있다면 BeanPropertyRowMapper 이용해 매핑 => user_id -> setUserId..
-            RowMapper<User> rowMapper = BeanPropertyRowMapper.newInstance(User.class);
-            User user = jdbcTemplate.queryForObject(sql, params, rowMapper);
+            // 컬럼 순서로 매핑하는 UserRowMapper를 재사용한다. (BeanPropertyRowMapper는 쿼리마다 리플렉션 정보를 새로 만든다)
+            User user = jdbcTemplate.queryForObject(sql, params, UserRowMapper.INSTANCE);
             return user;
         }catch (Exception ex){
             return null;
         }
     }
 
+    // 가입된 이메일 전체를 한 건씩 넘긴다. (이메일 블룸 필터용)
+    public void forEachEmail(Consumer<String> consumer) {
+        StreamingQuery.query(jdbcTemplate.getJdbcTemplate().getDataSource(), "select email from user", Map.of(), rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+
     @Transactional(readOnly = true)
     public List<String> getRoles(int userId) {
         String sql = "select r.name from user_role ur, role r where ur.role_id = r.role_id and ur.user_id = :userId";
@@ -0,0 +1,60 @@
+package com.example.board.dao;
+
+import com.example.board.dto.Board;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// userId -> 이름 사전. 글 조회 쿼리에서 user 조인을 빼고, 작성자 이름은 조회 후에 여기서 채운다.
+// 사전에 없는 userId만 모아서 한 번의 in 쿼리로 읽는다.
+// 이름을 바꾸는 기능은 없지만, 직접 DB에서 바꾼 경우에도 expireAfterWrite 후에는 반영된다.
+final class UserNameDictionary {
+    private static final int MAXIMUM_SIZE = 100_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Cache<Integer, String> names = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .build();
+
+    UserNameDictionary(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 목록의 작성자 이름을 채운다.
+    void fill(List<Board> boards) {
+        if (boards.isEmpty()) {
+            return;
+        }
+        Set<Integer> userIds = boards.stream().map(Board::getUserId).collect(Collectors.toSet());
+        Map<Integer, String> found = names.getAll(userIds, this::load);
+        for (Board board : boards) {
+            board.setName(found.get(board.getUserId()));
+        }
+    }
+
+    // 한 건씩 넘기는 내보내기에서 사용한다. 처음 나온 작성자만 DB에서 읽는다.
+    void fill(Board board) {
+        board.setName(names.get(board.getUserId(), userId -> load(List.of(userId)).get(userId)));
+    }
+
+    private Map<Integer, String> load(Iterable<? extends Integer> userIds) {
+        String sql = "select user_id, name from user where user_id in (:userIds)";
+        List<Integer> ids = new ArrayList<>();
+        userIds.forEach(ids::add);
+        Map<Integer, String> loaded = new HashMap<>();
+        jdbcTemplate.query(sql, Map.of("userIds", ids), rs -> {
+            loaded.put(rs.getInt(1), rs.getString(2));
+        });
+        return loaded;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.board.dao;
+
+import com.example.board.dto.User;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// user 조회 결과를 컬럼 순서(index)로 User에 매핑한다.
+// 컬럼 순서 : user_id, email, name, password, regdate
+final class UserRowMapper implements RowMapper<User> {
+    static final UserRowMapper INSTANCE = new UserRowMapper();
+
+    private UserRowMapper() {
+    }
+
+    @Override
+    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        User user = new User();
+        user.setUserId(rs.getInt(1));
+        user.setEmail(rs.getString(2));
+        user.setName(rs.getString(3));
+        user.setPassword(rs.getString(4));
+        user.setRegdate(rs.getObject(5, LocalDateTime.class));
+        return user;
+    }
+}
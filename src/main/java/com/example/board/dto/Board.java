@@ -17,4 +17,6 @@ public class Board {
     private LocalDateTime regdate;
     private int viewCnt;
     private String name; // join 후 사용할 컬럼
+    private int contentLength; // 전체 내용 글자 수(code point, MySQL char_length). 상세보기는 content에 앞부분만 읽어오므로 이 값이 더 클 수 있다.
+    private boolean truncated; // content가 앞부분만 있는지. String.length()는 UTF-16 단위라서 contentLength와 바로 비교할 수 없다.
 }
@@ -0,0 +1,35 @@
+package com.example.board.dto;
+
+import lombok.Getter;
+
+// 페이지 번호 링크 영역
+// 전체 페이지를 다 출력하지 않고 현재 페이지 주변 windowSize개만 출력한다.
+@Getter
+public class Pager {
+    private final int currentPage;
+    private final int pageCount;
+    private final int startPage;
+    private final int endPage;
+
+    public Pager(int currentPage, int totalCount, int pageSize, int windowSize) {
+        this.pageCount = totalCount / pageSize + (totalCount % pageSize > 0 ? 1 : 0);
+        this.currentPage = Math.max(1, Math.min(currentPage, Math.max(pageCount, 1)));
+        // 현재 페이지가 가운데 오도록 하고, 앞/뒤 끝에서는 windowSize만큼 채운다.
+        int start = Math.max(1, this.currentPage - windowSize / 2);
+        int end = Math.min(pageCount, start + windowSize - 1);
+        this.startPage = Math.max(1, end - windowSize + 1);
+        this.endPage = end;
+    }
+
+    public boolean isEmpty() {
+        return pageCount == 0;
+    }
+
+    public boolean hasPrevious() {
+        return startPage > 1;
+    }
+
+    public boolean hasNext() {
+        return endPage < pageCount;
+    }
+}
@@ -6,6 +6,8 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Setter
 @Getter
@@ -17,5 +19,5 @@ public class User {
     private String name;
     private String password;
     private LocalDateTime regdate;
-
+    private List<String> roles = new ArrayList<>(); // user_role, role join 후 사용할 컬럼
 }
@@ -0,0 +1,234 @@
+package com.example.board.search;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.Character.UnicodeScript;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 제목 + 내용에 대한 메모리 역색인 (term -> 정렬된 boardId 목록)
+// 영문/숫자는 단어 단위로, 한글은 조사가 붙어도 찾을 수 있도록 2글자(bigram) 단위로 색인한다.
+// 한 글자 한글 검색어도 찾을 수 있도록 한글은 글자(unigram)도 색인한다. 두 글자 이상의 검색어는 bigram으로만 찾는다.
+// 검색어의 모든 term을 포함하는 글(AND)을 board_id 역순으로 리턴한다.
+// 검색은 읽기 락, 색인 변경은 쓰기 락을 잡는다.
+@Component
+public class BoardSearchIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // 수정/삭제 시 이전 term을 지우기 위해 글이 들어 있는 목록을 보관한다. term 문자열을 글마다 따로 들고 있지 않는다.
+    private final Map<Integer, PostingList[]> listsByBoardId = new HashMap<>();
+
+    // 색인에 추가한다. 이미 있는 글이면 새 내용으로 바꾼다.
+    public void index(int boardId, String title, String content) {
+        Set<String> terms = indexTerms(title + " " + (content == null ? "" : content));
+        lock.writeLock().lock();
+        try {
+            removeTerms(boardId);
+            PostingList[] lists = new PostingList[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                PostingList list = postings.computeIfAbsent(term, PostingList::new);
+                list.add(boardId);
+                lists[i++] = list;
+            }
+            listsByBoardId.put(boardId, lists);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int boardId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            listsByBoardId.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return listsByBoardId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // page는 1부터 시작한다.
+    public SearchResult search(String query, int page, int pageSize) {
+        Set<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        int skip = Math.max(page - 1, 0) * pageSize;
+        List<Integer> boardIds = new ArrayList<>(pageSize);
+        int totalCount = 0;
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return new SearchResult(List.of(), 0);
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 목록을 최신 글부터 훑으면서 나머지 목록에 모두 있는지 이진 탐색으로 확인한다.
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            PostingList shortest = lists.get(0);
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                int boardId = shortest.ids[i];
+                if (containsInAll(lists, boardId)) {
+                    if (totalCount >= skip && boardIds.size() < pageSize) {
+                        boardIds.add(boardId);
+                    }
+                    totalCount++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SearchResult(boardIds, totalCount);
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, int boardId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(boardId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeTerms(int boardId) {
+        PostingList[] lists = listsByBoardId.remove(boardId);
+        if (lists == null) {
+            return;
+        }
+        for (PostingList list : lists) {
+            if (list.remove(boardId) && list.size == 0) {
+                postings.remove(list.term);
+            }
+        }
+    }
+
+    // 글에서 색인할 term
+    static Set<String> indexTerms(String text) {
+        return tokenize(text, true);
+    }
+
+    // 검색어의 term
+    static Set<String> queryTerms(String text) {
+        return tokenize(text, false);
+    }
+
+    private static Set<String> tokenize(String text, boolean withUnigrams) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letterOrDigit = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                addWord(lower.substring(start, i), withUnigrams, terms);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addWord(String word, boolean withUnigrams, Set<String> terms) {
+        if (word.length() < 2 || !isHangul(word)) {
+            terms.add(word);
+            return;
+        }
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            terms.add(word.substring(i, i + 2));
+        }
+        if (withUnigrams) {
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (UnicodeScript.of(c) == UnicodeScript.HANGUL) {
+                    terms.add(String.valueOf(c));
+                }
+            }
+        }
+    }
+
+    private static boolean isHangul(String word) {
+        return word.codePoints().anyMatch(c -> UnicodeScript.of(c) == UnicodeScript.HANGUL);
+    }
+
+    // 오름차순으로 정렬된 boardId 배열. 새 글은 가장 큰 id이므로 대부분 끝에 붙는다.
+    private static final class PostingList {
+        private final String term; // postings의 key. 비면 postings에서 지운다.
+        private int[] ids = new int[4];
+        private int size;
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        void add(int boardId) {
+            if (size == 0 || boardId > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = boardId;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, boardId);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = boardId;
+            size++;
+        }
+
+        boolean remove(int boardId) {
+            int pos = Arrays.binarySearch(ids, 0, size, boardId);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int boardId) {
+            return Arrays.binarySearch(ids, 0, size, boardId) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.board.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 검색 결과 : 요청한 페이지의 boardId 목록(board_id 역순)과 전체 일치 건수
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+    private final List<Integer> boardIds;
+    private final int totalCount;
+}
@@ -1,73 +1,265 @@
 package com.example.board.service;
 
+import com.example.board.cache.AfterCommit;
+import com.example.board.cache.BoardCache;
+import com.example.board.cache.BoardCountCache;
+import com.example.board.cache.BoardListSnapshot;
+import com.example.board.cache.BoardVersions;
+import com.example.board.cache.InvalidationEvent;
+import com.example.board.cache.InvalidationPublisher;
+import com.example.board.cache.ViewCountBuffer;
 import com.example.board.dao.BoardDao;
 import com.example.board.dto.Board;
+import com.example.board.search.BoardSearchIndex;
+import com.example.board.search.SearchResult;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor// 생성자 주입 : Spring이 UserService를 Bean으로 생성할 때 생성자를 이용해 생성하는데, 이때 UserDao Bean이 있는지 보고 그 빈을 주입한다. 생성자 주입 public UserService(UserDao userDao){this.userDao = userDao;}
 public class BoardService {
     private final BoardDao boardDao;
+    private final BoardCache boardCache;
+    private final BoardCountCache boardCountCache;
+    private final BoardListSnapshot boardListSnapshot;
+    private final ViewCountBuffer viewCountBuffer;
+    private final BoardSearchIndex boardSearchIndex;
+    private final BoardVersions boardVersions;
+    private final InvalidationPublisher invalidationPublisher; // 다른 노드의 캐시 무효화
 
-    // 글 등록
+    // 글 등록. 등록된 boardId를 리턴한다.
     @Transactional
-    public void addBoard(int userId, String title, String content) {
-        boardDao.addBoard(userId, title, content);
+    public int addBoard(int userId, String title, String content) {
+        int boardId = boardDao.addBoard(userId, title, content);
+        adjustCountAfterCommit(1);
+        boardListSnapshot.refreshAfterCommit();
+        boardVersions.listChangedAfterCommit();
+        AfterCommit.run(() -> boardSearchIndex.index(boardId, title, content));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.board(boardId));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.boardList());
+        return boardId;
     }
 
-    //페이징 : 글 갯수 조회
-    @Transactional(readOnly = true)//조회만 할 때는 readOnly=true
+    // 여러 사용자의 글을 하나의 트랜잭션으로 등록한다. (BoardWritePipeline의 group commit)
+    // 등록된 boardId를 boards 순서대로 리턴한다.
+    @Transactional
+    public List<Integer> addBoards(List<Board> boards) {
+        List<Integer> boardIds = new ArrayList<>(boards.size());
+        for (Board board : boards) {
+            boardIds.add(boardDao.addBoard(board.getUserId(), board.getTitle(), board.getContent()));
+        }
+        adjustCountAfterCommit(boards.size());
+        boardListSnapshot.refreshAfterCommit();
+        boardVersions.listChangedAfterCommit();
+        AfterCommit.run(() -> {
+            for (int i = 0; i < boards.size(); i++) {
+                boardSearchIndex.index(boardIds.get(i), boards.get(i).getTitle(), boards.get(i).getContent());
+            }
+        });
+        boardIds.forEach(boardId -> invalidationPublisher.publishAfterCommit(InvalidationEvent.board(boardId)));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.boardList());
+        return boardIds;
+    }
+
+    // 글 일괄 등록 (가져오기). chunk 하나가 하나의 트랜잭션이다.
+    @Transactional
+    public int importBoards(List<Board> boards) {
+        for (Board board : boards) {
+            if (board.getRegdate() == null) {
+                board.setRegdate(LocalDateTime.now());
+            }
+        }
+        // batch insert는 생성된 id를 돌려주지 않으므로 커밋 후 이전 최대 id 이후의 글을 다시 읽어서 색인한다.
+        int lastBoardId = boardDao.getMaxBoardId();
+        int count = boardDao.addBoards(boards);
+        adjustCountAfterCommit(count);
+        boardListSnapshot.refreshAfterCommit();
+        boardVersions.listChangedAfterCommit();
+        AfterCommit.run(() -> indexBoardsAfter(lastBoardId));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.boardsAfter(lastBoardId));
+        return count;
+    }
+
+    // 전체 글 내보내기
+    public void exportBoards(Consumer<Board> consumer) {
+        boardDao.exportBoards(0, consumer);
+    }
+
+    // 글 검색. 메모리 색인에서 찾으므로 DB를 조회하지 않는다. page는 getBoards와 같이 1부터, 10건씩
+    public SearchResult search(String query, int page) {
+        return boardSearchIndex.search(query, page, 10);
+    }
+
+    // 검색 결과 페이지의 글 목록
+    public List<Board> getBoardsByIds(List<Integer> boardIds) {
+        return boardDao.getBoardsByIds(boardIds);
+    }
+
+    // 시작 시 검색 색인을 만든다. 준비(readiness) 상태가 되기 전에 끝난다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        long start = System.currentTimeMillis();
+        boardSearchIndex.clear();
+        indexBoardsAfter(0);
+        log.info("search index built: {} boards in {} ms", boardSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // lastBoardId 이후의 글을 색인한다. (일괄 등록 후, 다른 노드의 일괄 등록 알림)
+    public void indexBoardsAfter(int lastBoardId) {
+        boardDao.exportBoards(lastBoardId, board -> boardSearchIndex.index(board.getBoardId(), board.getTitle(), board.getContent()));
+    }
+
+    // 다른 노드에서 등록/수정/삭제한 글을 다시 색인한다.
+    public void reindexBoard(int boardId) {
+        if (boardDao.getBoardUserId(boardId) == null) {
+            boardSearchIndex.remove(boardId);
+            return;
+        }
+        Board board = boardDao.getBoard(boardId);
+        boardSearchIndex.index(boardId, board.getTitle(), boardDao.getBoardContent(boardId));
+    }
+
+    //페이징 : 글 갯수 조회. DB를 조회하지 않고 캐시된 값을 읽는다.
     public int getTotalCount() {
-        return boardDao.getTotalCount();
+        return boardCountCache.getTotalCount();
     }
 
     //글 목록 조회
-    @Transactional(readOnly = true)
+    // 앞쪽 페이지는 스냅샷에서 읽는다. 스냅샷에 없는 페이지만 BoardDao의 트랜잭션으로 읽는다.
     public List<Board> getBoards(int page) {
+        List<Board> list = boardListSnapshot.getPage(page);
+        if (list != null) {
+            return list;
+        }
         return boardDao.getBoards(page);
     }
 
+    //글 목록 조회 - 커서 방식 (lastBoardId 다음 글부터 10건)
+    @Transactional(readOnly = true)
+    public List<Board> getBoardsAfter(int lastBoardId) {
+        return boardDao.getBoardsAfter(lastBoardId);
+    }
+
     // 글 상세보기
-    @Transactional
     public Board getBoard(int boardId) {
         return getBoard(boardId, true);
     }
 
     // 글 수정 시 글 상세보기
-    @Transactional
+    // 캐시에 있으면 커넥션도 얻지 않도록 트랜잭션을 걸지 않는다. 캐시에 없으면 BoardDao의 트랜잭션으로 읽는다.
     public Board getBoard(int boardId, boolean updateViewCnt){
         // updateViewCnt true면 글의 조회수 증가, false면 글의 조회수를 증가하지 않도록 한다.
-        Board board = boardDao.getBoard(boardId);
-        // id에 해당하는 게시물의 조회수도 1 증가한다.
+        Board board = boardCache.get(boardId, boardDao::getBoard);
+        // 아직 DB에 반영되지 않은 조회수를 더해서 보여준다.
+        board.setViewCnt(board.getViewCnt() + (int) viewCountBuffer.getPending(boardId));
+        // id에 해당하는 게시물의 조회수도 1 증가한다. 버퍼에 누적했다가 주기적으로 DB에 반영한다.
         if(updateViewCnt) {
-            boardDao.updateViewCnt(boardId);
+            viewCountBuffer.increment(boardId);
         }
         return board;
     }
 
+    // 작성자 확인. 글 내용은 읽지 않고, 캐시에 있으면 DB를 조회하지 않는다.
+    public boolean isOwner(int userId, int boardId) {
+        Board cached = boardCache.getIfPresent(boardId);
+        if (cached != null) {
+            return cached.getUserId() == userId;
+        }
+        Integer ownerId = boardDao.getBoardUserId(boardId);
+        return ownerId != null && ownerId == userId;
+    }
+
+    public boolean exists(int boardId) {
+        return boardCache.getIfPresent(boardId) != null || boardDao.getBoardUserId(boardId) != null;
+    }
+
+    // 수정폼에 넣을 전체 내용
+    public String getBoardContent(int boardId) {
+        return boardDao.getBoardContent(boardId);
+    }
+
+    // 상세보기에서 잘린 긴 글의 전체 내용. CONTENT_CHUNK_LENGTH 글자씩 짧은 쿼리로 읽어서 writer에 쓴다.
+    // 힙에는 한 조각만 올라가고, 조각을 쓰는 동안에는 커넥션을 반납한다. 보내는 도중에 수정되면 앞뒤 조각의 버전이 다를 수 있다.
+    // 글이 없으면 false
+    public boolean writeContent(int boardId, Writer writer) throws IOException {
+        int offset = 1; // MySQL substring은 1부터, 글자(code point) 단위
+        while (true) {
+            String chunk = boardDao.getContentChunk(boardId, offset, BoardDao.CONTENT_CHUNK_LENGTH);
+            if (chunk == null) {
+                return offset > 1;
+            }
+            writer.write(chunk);
+            int length = chunk.codePointCount(0, chunk.length());
+            if (length < BoardDao.CONTENT_CHUNK_LENGTH) {
+                return true;
+            }
+            offset += length;
+        }
+    }
+
     // 글 삭제
     @Transactional
     public void deleteBoard(int userId, int boardId) {
-        //boardId에 해당하는 글을 읽어온다.
-        Board board = boardDao.getBoard(boardId);
-        if(board.getUserId() == userId){
-            boardDao.deleteBoard(boardId);
+        if(isOwner(userId, boardId)){
+            deleteBoard(boardId);
         }
     }
 
     // 관리자 권한일 경우 삭제
     @Transactional
     public void deleteBoard(int boardId){
-        boardDao.deleteBoard(boardId);
+        int deleted = boardDao.deleteBoard(boardId);
+        adjustCountAfterCommit(-deleted);
+        viewCountBuffer.discard(boardId);
+        boardCache.invalidateAfterCommit(boardId);
+        boardListSnapshot.refreshAfterCommit();
+        boardVersions.boardChangedAfterCommit(boardId);
+        AfterCommit.run(() -> boardSearchIndex.remove(boardId));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.board(boardId));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.boardList());
     }
 
     @Transactional
     public void updateBoard(int boardId, String title, String content) {
         boardDao.updateBoard(boardId, title, content);
+        boardCache.reloadAfterCommit(boardId, boardDao::getBoard);
+        boardListSnapshot.refreshAfterCommit();
+        boardVersions.boardChangedAfterCommit(boardId);
+        AfterCommit.run(() -> boardSearchIndex.index(boardId, title, content));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.board(boardId));
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.boardList());
+    }
+
+    // 조건부 GET에 쓰는 목록/상세의 마지막 변경 시각. DB를 조회하지 않는다.
+    public long getListVersion() {
+        return boardVersions.getListVersion();
+    }
+
+    public long getBoardVersion(int boardId) {
+        return boardVersions.getBoardVersion(boardId);
+    }
+
+    // 304로 응답해서 글을 읽지 않은 경우에도 조회수는 센다.
+    public void recordView(int boardId) {
+        viewCountBuffer.increment(boardId);
+    }
+
+    // 이 노드의 글 수 캐시를 조정하고, 다른 노드에도 같은 증감을 알린다.
+    private void adjustCountAfterCommit(int delta) {
+        boardCountCache.adjustAfterCommit(delta);
+        invalidationPublisher.publishCountDeltaAfterCommit(delta);
     }
 }
@@ -0,0 +1,189 @@
+package com.example.board.service;
+
+import com.example.board.dto.Board;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 글 등록 파이프라인 (board.write-pipeline.enabled)
+// 요청마다 트랜잭션을 커밋하면 글이 몰릴 때 커밋(디스크 fsync) 대기가 응답 시간의 대부분이 된다.
+// 요청은 제한된 대기열에 넣고, 하나의 writer 스레드가 그동안 쌓인 글을 한 트랜잭션으로 등록한다. (group commit)
+// 요청 스레드는 커밋이 끝날 때까지 기다렸다가 리턴하므로 리다이렉트 전에 글은 DB에 저장되어 있다.
+// 대기열이 가득 차면 offer-timeout-ms 만큼만 기다리고 503으로 실패한다. (RejectedRequestHandler)
+// commit-timeout-ms 안에 커밋 결과를 받지 못하면 요청은 실패한다. 이때 글은 나중에 커밋될 수도 있다.
+// enabled가 false면 기존처럼 요청 스레드에서 바로 등록한다.
+@Slf4j
+@Component
+public class BoardWritePipeline {
+    private final BoardService boardService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long offerTimeoutMs;
+    private final long commitTimeoutMs;
+    private final BlockingQueue<PendingWrite> queue;
+    private final DistributionSummary batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public BoardWritePipeline(BoardService boardService, MeterRegistry meterRegistry,
+                              @Value("${board.write-pipeline.enabled:false}") boolean enabled,
+                              @Value("${board.write-pipeline.queue-capacity:1000}") int queueCapacity,
+                              @Value("${board.write-pipeline.max-batch-size:100}") int maxBatchSize,
+                              @Value("${board.write-pipeline.offer-timeout-ms:100}") long offerTimeoutMs,
+                              @Value("${board.write-pipeline.commit-timeout-ms:30000}") long commitTimeoutMs) {
+        this.boardService = boardService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.commitTimeoutMs = commitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("board.write.batch.size")
+                .description("한 트랜잭션으로 등록한 글 수")
+                .register(meterRegistry);
+        Gauge.builder("board.write.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        if (enabled) {
+            writer = new Thread(this::drain, "board-writer");
+            writer.start();
+        } else {
+            writer = null;
+        }
+    }
+
+    // 글을 등록하고 커밋될 때까지 기다린다. 등록된 boardId를 리턴한다.
+    public int write(int userId, String title, String content) {
+        if (!enabled) {
+            return boardService.addBoard(userId, title, content);
+        }
+        Board board = new Board();
+        board.setUserId(userId);
+        board.setTitle(title);
+        board.setContent(content);
+        PendingWrite pending = new PendingWrite(board);
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            throw new TaskRejectedException("board write queue is full");
+        }
+        try {
+            return pending.result.get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("board write failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("board write was not confirmed within " + commitTimeoutMs + " ms", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for board write", ex);
+        }
+    }
+
+    // 대기열에서 첫 글을 기다렸다가, 그동안 더 쌓인 글을 maxBatchSize까지 함께 커밋한다.
+    // 커밋하는 동안 들어온 글은 다음 batch가 되므로 글이 몰릴수록 batch가 커진다.
+    // commit이 처리하지 못한 오류(Error 등)가 나도 그 batch만 실패로 알리고 계속 처리한다.
+    // writer가 어떤 이유로든 끝나면 더 이상 글을 받지 않고, 대기열에 남은 요청도 실패로 알린다.
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                try {
+                    commit(batch);
+                } catch (Throwable ex) {
+                    log.error("board write batch of {} failed", batch.size(), ex);
+                    batch.forEach(pending -> pending.result.completeExceptionally(ex));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            failQueued();
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        batchSize.record(batch.size());
+        List<Board> boards = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            boards.add(pending.board);
+        }
+        try {
+            List<Integer> boardIds = boardService.addBoards(boards);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(boardIds.get(i));
+            }
+        } catch (RuntimeException ex) {
+            // 커밋 중 연결이 끊긴 경우처럼 커밋 여부를 알 수 없는 오류는 다시 등록하면 글이 두 번 저장될 수 있으므로 그대로 실패로 알린다.
+            if (batch.size() == 1 || !(ex instanceof DataIntegrityViolationException)) {
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+                return;
+            }
+            // 한 건의 제약 조건 위반으로 batch 전체가 롤백되었으므로 한 건씩 다시 등록해서 실패한 글만 에러로 돌려준다.
+            log.warn("board write batch of {} failed. retrying one by one", batch.size(), ex);
+            for (PendingWrite pending : batch) {
+                try {
+                    pending.result.complete(boardService.addBoards(List.of(pending.board)).get(0));
+                } catch (RuntimeException retryEx) {
+                    pending.result.completeExceptionally(retryEx);
+                }
+            }
+        }
+    }
+
+    // 종료 시 대기열에 남은 글을 모두 커밋한 후 종료한다.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        writer.join();
+        failQueued();
+    }
+
+    // writer가 끝난 뒤에 대기열에 남은 글은 저장되지 않았음을 알린다.
+    private void failQueued() {
+        PendingWrite pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new TaskRejectedException("board write pipeline is shut down"));
+        }
+    }
+
+    private static class PendingWrite {
+        private final Board board;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private PendingWrite(Board board) {
+            this.board = board;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.board.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 비밀번호 해시(bcrypt). 해시 계산은 CPU를 많이 쓰므로 Tomcat 워커 스레드가 아닌 전용 풀에서 실행한다.
+// 풀 크기는 기본으로 CPU 수, 대기열은 제한되어 있고 가득 차면 503으로 실패한다. (RejectedRequestHandler)
+// 비용(strength)을 1 올리면 계산 시간이 2배가 된다. PasswordHasherBenchmark로 로그인 목표 처리량에 맞춰 정한다.
+// 풀 상태는 executor.* 메트릭(name=password.hasher)으로 확인한다.
+@Component
+public class PasswordHasher {
+    private final BCryptPasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor pool;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${board.password.bcrypt-strength:10}") int strength,
+                          @Value("${board.password.pool-size:0}") int poolSize,
+                          @Value("${board.password.queue-capacity:100}") int queueCapacity) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hasher");
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // 이전에 평문으로 저장된 비밀번호도 확인한다. 확인에 성공하면 needsUpgrade로 다시 해시해서 저장한다.
+    public CompletableFuture<Boolean> matches(String rawPassword, String storedPassword) {
+        if (storedPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!isHashed(storedPassword)) {
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8)));
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    // 평문이거나 현재 strength보다 낮은 비용으로 만든 해시
+    public boolean needsUpgrade(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$");
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new TaskRejectedException("password hasher queue is full", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.board.service;
+
+import com.example.board.cache.BoardCache;
+import com.example.board.cache.BoardCountCache;
+import com.example.board.cache.BoardListSnapshot;
+import com.example.board.cache.BoardVersions;
+import com.example.board.cache.InvalidationBroadcaster;
+import com.example.board.cache.InvalidationEvent;
+import com.example.board.cache.UserRoleCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 다른 노드에서 온 무효화 이벤트를 이 노드의 캐시에 반영한다.
+// 목록 관련 이벤트는 batch 안에 여러 개 있어도 목록 스냅샷을 한 번만 다시 읽는다.
+// 전체 글 수는 count(*)를 다시 읽지 않고 BOARD_COUNT 이벤트의 증감만큼 조정한다. (DB 값과는 BoardCountCache가 주기적으로 맞춘다)
+// 다른 노드가 방금 커밋한 변경을 읽으므로 replica(지연될 수 있다)가 아닌 primary에서 읽는다.
+// batch 전체를 읽기/쓰기 트랜잭션 하나로 실행하면 안에서 부르는 readOnly DAO 메소드도 이 트랜잭션에 참여해서 primary로 간다.
+// 이 빈에 의존하는 빈이 없으므로 fast-start 프로필(지연 초기화)에서는 생성자가 불리지 않는다.
+// 그래서 생성자가 아닌 시작 완료 이벤트에서 구독한다. (이벤트 리스너는 지연 초기화된 빈도 만들어서 호출한다)
+@Slf4j
+@Component
+public class RemoteInvalidationHandler {
+    private final BoardService boardService;
+    private final BoardCache boardCache;
+    private final BoardCountCache boardCountCache;
+    private final BoardListSnapshot boardListSnapshot;
+    private final BoardVersions boardVersions;
+    private final InvalidationBroadcaster broadcaster;
+    private final UserRoleCache userRoleCache;
+    private final TransactionTemplate primaryTransaction;
+
+    public RemoteInvalidationHandler(InvalidationBroadcaster broadcaster, BoardService boardService, BoardCache boardCache,
+                                     BoardCountCache boardCountCache, BoardListSnapshot boardListSnapshot,
+                                     BoardVersions boardVersions, UserRoleCache userRoleCache,
+                                     PlatformTransactionManager transactionManager) {
+        this.broadcaster = broadcaster;
+        this.boardService = boardService;
+        this.boardCache = boardCache;
+        this.boardCountCache = boardCountCache;
+        this.boardListSnapshot = boardListSnapshot;
+        this.boardVersions = boardVersions;
+        this.userRoleCache = userRoleCache;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setReadOnly(false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        broadcaster.subscribe(this::handle);
+    }
+
+    // *AfterCommit 메소드는 batch의 트랜잭션이 커밋된 뒤에 실행된다.
+    // 실패한 이벤트가 있어도 나머지는 반영하고, 마지막에 예외를 던져서 broadcaster가 batch 전체를 다시 전달하게 한다.
+    // (무효화와 재색인은 여러 번 반영해도 결과가 같다)
+    // 글 수 증감은 두 번 더해지면 안 되므로 batch 전체가 성공했을 때만 반영한다. (예외로 롤백되면 커밋 후 작업은 실행되지 않는다)
+    void handle(List<InvalidationEvent> events) {
+        primaryTransaction.executeWithoutResult(status -> apply(events));
+    }
+
+    private void apply(List<InvalidationEvent> events) {
+        RuntimeException failure = null;
+        boolean listChanged = false;
+        int countDelta = 0;
+        for (InvalidationEvent event : events) {
+            try {
+                switch (event.getEntity()) {
+                    case BOARD:
+                        boardCache.invalidateAfterCommit(event.getId());
+                        boardVersions.boardChangedAfterCommit(event.getId());
+                        boardService.reindexBoard(event.getId());
+                        break;
+                    case BOARDS_AFTER:
+                        boardService.indexBoardsAfter(event.getId());
+                        listChanged = true;
+                        break;
+                    case BOARD_LIST:
+                        listChanged = true;
+                        break;
+                    case USER_ROLES:
+                        userRoleCache.invalidateAfterCommit(event.getId());
+                        break;
+                    case BOARD_COUNT:
+                        countDelta += event.getId();
+                        break;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("failed to apply invalidation {}", event, ex);
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (listChanged) {
+            boardListSnapshot.refresh();
+            boardVersions.listChangedAfterCommit();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        boardCountCache.adjustAfterCommit(countDelta);
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.board.service;
 
+import com.example.board.cache.AfterCommit;
+import com.example.board.cache.EmailBloomFilter;
+import com.example.board.cache.InvalidationEvent;
+import com.example.board.cache.InvalidationPublisher;
+import com.example.board.cache.UserRoleCache;
 import com.example.board.dao.UserDao;
 import com.example.board.dto.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.ArrayList;
 
 // 트랜잭션 단위로 실행될 메소드를 선언하고 있는 클래스
 // 스프링이 관리하는 Bean
@@ -14,29 +20,46 @@ import java.util.List;
 @RequiredArgsConstructor // 생성자 주입 : Spring이 UserService를 Bean으로 생성할 때 생성자를 이용해 생성하는데, 이때 UserDao Bean이 있는지 보고 그 빈을 주입한다. 생성자 주입 public UserService(UserDao userDao){this.userDao = userDao;}
 public class UserService {
     private final UserDao userDao;
+    private final UserRoleCache userRoleCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final InvalidationPublisher invalidationPublisher; // 다른 노드의 캐시 무효화
     // 보통 서비스에서는 @Transactional을 붙여서 하나의 트랜잭션으로 처리하게 한다. 스프링부트는 트랜잭션을 처리해주는 트랜잭션 관리자를 가지고 있다.
 
-    //회원가입
+    //회원가입. password는 PasswordHasher로 해시한 값이다.
     @Transactional
     public User addUser(String name, String email, String password){
-        // 이메일 중복 검사
-        User user1 = userDao.getUser(email);
-        if (user1 != null) {
+        // 이메일 중복 검사. 블룸 필터에 없으면 가입되지 않은 이메일이 확실하므로 DB를 조회하지 않는다.
+        if (emailBloomFilter.mightContain(email) && userDao.getUser(email) != null) {
             throw new RuntimeException("이미 가입된 이메일입니다.");
         }
-        User user = userDao.addUser(email, name, password); // insert 후 자동생성한 id 가져오기
+        User user;
+        try {
+            user = userDao.addUser(email, name, password); // insert 후 자동생성한 id 가져오기
+        } catch (DuplicateKeyException ex) {
+            // 다른 노드에서 방금 가입한 이메일은 블룸 필터에 아직 없을 수 있다. unique 인덱스가 막아준다.
+            throw new RuntimeException("이미 가입된 이메일입니다.", ex);
+        }
         userDao.mappingUserRole(user.getUserId()); // 권한을 부여한다.
+        userRoleCache.invalidateAfterCommit(user.getUserId());
+        invalidationPublisher.publishAfterCommit(InvalidationEvent.userRoles(user.getUserId()));
+        AfterCommit.run(() -> emailBloomFilter.add(email));
         return user;
     }
 
-    // 로그인
+    // 로그인 : 회원정보는 항상 primary에서 읽는다. (방금 가입했거나 비밀번호를 바꾼 회원이 replica 지연으로 로그인에 실패하지 않도록)
+    // 권한은 캐시에 있으면 DB를 조회하지 않고, 없으면 같은 트랜잭션(primary)에서 읽어서 캐시에 넣는다.
     @Transactional
     public User getUser(String email){
-        return userDao.getUser(email);
+        User user = userDao.getUser(email);
+        if (user != null) {
+            user.setRoles(new ArrayList<>(userRoleCache.get(user.getUserId(), userDao::getRoles)));
+        }
+        return user;
     }
 
-    @Transactional(readOnly = true)
-    public List<String> getRoles(int userId) {
-        return userDao.getRoles(userId);
+    // 로그인 성공 후 평문 또는 낮은 비용으로 저장된 비밀번호를 새 해시로 바꾼다.
+    @Transactional
+    public void upgradePassword(int userId, String password) {
+        userDao.updatePassword(userId, password);
     }
 }
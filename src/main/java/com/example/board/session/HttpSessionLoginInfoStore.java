@@ -0,0 +1,34 @@
+package com.example.board.session;
+
+import com.example.board.dto.LoginInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+// 로그인 정보를 HttpSession에 저장한다. 로그인하지 않은 사용자에게는 세션을 만들지 않는다.
+@Component
+@ConditionalOnProperty(name = "board.session.mode", havingValue = "http", matchIfMissing = true)
+public class HttpSessionLoginInfoStore implements LoginInfoStore {
+
+    @Override
+    public LoginInfo load(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (LoginInfo) session.getAttribute(ATTRIBUTE_NAME);
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, LoginInfo loginInfo) {
+        request.getSession().setAttribute(ATTRIBUTE_NAME, loginInfo); // 1파라미터 키, 2파라미터 값
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.removeAttribute(ATTRIBUTE_NAME);
+        }
+    }
+}
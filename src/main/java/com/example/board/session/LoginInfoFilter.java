@@ -0,0 +1,36 @@
+package com.example.board.session;
+
+import com.example.board.dto.LoginInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청마다 로그인 정보를 한 번 읽어서 request attribute "loginInfo"에 넣어준다.
+// 컨트롤러는 @RequestAttribute로 받으므로 저장 방식(http/cookie)을 몰라도 된다.
+@Component
+@RequiredArgsConstructor
+public class LoginInfoFilter extends OncePerRequestFilter {
+    private final LoginInfoStore loginInfoStore;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LoginInfo loginInfo = loginInfoStore.load(request);
+        if (loginInfo != null) {
+            request.setAttribute(LoginInfoStore.ATTRIBUTE_NAME, loginInfo);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // 정적 리소스에는 로그인 정보가 필요 없다.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith(".css");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.board.session;
+
+import com.example.board.dto.LoginInfo;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 로그인 정보 저장소. board.session.mode 설정에 따라
+// http : 서블릿 HttpSession에 저장 (기본값)
+// cookie : 서명된 쿠키에 담아서 서버에 상태를 두지 않는다. 여러 노드를 세션 고정 없이 운영할 수 있다.
+public interface LoginInfoStore {
+    String ATTRIBUTE_NAME = "loginInfo";
+
+    // 로그인하지 않았으면 null
+    LoginInfo load(HttpServletRequest request);
+
+    void save(HttpServletRequest request, HttpServletResponse response, LoginInfo loginInfo);
+
+    void clear(HttpServletRequest request, HttpServletResponse response);
+}
@@ -0,0 +1,163 @@
+package com.example.board.session;
+
+import com.example.board.dto.LoginInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+// 로그인 정보를 HMAC-SHA256으로 서명한 쿠키에 담는다. 서버는 서명만 확인하므로 세션 저장소가 필요 없다.
+// 쿠키 값 : base64url(payload) + "." + base64url(서명)
+// payload : userId|만료시각(epoch초)|email|name|role1,role2 (각 항목은 URL 인코딩)
+// 토큰은 만료 전까지 유효하므로 권한 변경은 다시 로그인해야 반영된다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "board.session.mode", havingValue = "cookie")
+public class SignedCookieLoginInfoStore implements LoginInfoStore {
+    private static final String COOKIE_NAME = "BOARD_LOGIN";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final boolean secure;
+    // Mac은 스레드 안전하지 않으므로 스레드마다 하나씩 만들어서 재사용한다.
+    private final ThreadLocal<Mac> mac;
+
+    public SignedCookieLoginInfoStore(@Value("${board.session.secret:}") String secret,
+                                      @Value("${board.session.cookie-ttl-seconds:86400}") long ttlSeconds,
+                                      @Value("${board.session.cookie-secure:false}") boolean secure) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            // 노드마다 다른 키가 만들어지므로 여러 노드로 운영할 때는 반드시 같은 secret을 설정해야 한다.
+            log.warn("board.session.secret is not set. using a random key; tokens will not be valid on other nodes or after restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.secure = secure;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public LoginInfo load(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return decode(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, LoginInfo loginInfo) {
+        addCookie(response, encode(loginInfo), ttl);
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        addCookie(response, "", Duration.ZERO);
+    }
+
+    String encode(LoginInfo loginInfo) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.getSeconds();
+        String payload = loginInfo.getUserId()
+                + "|" + expiresAt
+                + "|" + encodeField(loginInfo.getEmail())
+                + "|" + encodeField(loginInfo.getName())
+                + "|" + encodeField(String.join(",", loginInfo.getRoles()));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(mac.get().doFinal(payloadBytes));
+    }
+
+    // 서명이 맞지 않거나 만료되었거나 형식이 잘못되었으면 null
+    LoginInfo decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payloadBytes = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        // 서명 비교는 시간이 일정한 MessageDigest.isEqual로 한다.
+        if (!MessageDigest.isEqual(mac.get().doFinal(payloadBytes), signature)) {
+            return null;
+        }
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            if (Long.parseLong(fields[1]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            LoginInfo loginInfo = new LoginInfo(Integer.parseInt(fields[0]), decodeField(fields[2]), decodeField(fields[3]));
+            String roles = decodeField(fields[4]);
+            loginInfo.setRoles(roles.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(roles.split(","))));
+            return loginInfo;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void addCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac newMac = Mac.getInstance(ALGORITHM);
+            newMac.init(key);
+            return newMac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String encodeField(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodeField(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
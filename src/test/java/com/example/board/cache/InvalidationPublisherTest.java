@@ -0,0 +1,94 @@
+package com.example.board.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 같은 JVM 안의 두 노드(loopback)로 이벤트가 합쳐져서 다른 노드에만 전달되는지 확인한다.
+class InvalidationPublisherTest {
+
+    @Test
+    void coalescesEventsAndDeliversToOtherNodesOnly() {
+        LoopbackInvalidationBroadcaster.Network network = new LoopbackInvalidationBroadcaster.Network();
+        LoopbackInvalidationBroadcaster nodeA = network.join();
+        LoopbackInvalidationBroadcaster nodeB = network.join();
+        List<List<InvalidationEvent>> receivedByA = new ArrayList<>();
+        List<List<InvalidationEvent>> receivedByB = new ArrayList<>();
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+
+        InvalidationPublisher publisher = new InvalidationPublisher(nodeA);
+        // 트랜잭션 밖이므로 바로 모인다.
+        publisher.publishAfterCommit(InvalidationEvent.board(1));
+        publisher.publishAfterCommit(InvalidationEvent.board(1));
+        publisher.publishAfterCommit(InvalidationEvent.boardList());
+        publisher.publishAfterCommit(InvalidationEvent.boardList());
+        publisher.publishAfterCommit(InvalidationEvent.userRoles(7));
+        publisher.flush();
+
+        assertThat(receivedByA).isEmpty();
+        assertThat(receivedByB).hasSize(1);
+        assertThat(receivedByB.get(0)).containsExactlyInAnyOrder(
+                InvalidationEvent.board(1), InvalidationEvent.boardList(), InvalidationEvent.userRoles(7));
+
+        // 보낸 이벤트는 다시 보내지 않는다.
+        publisher.flush();
+        assertThat(receivedByB).hasSize(1);
+    }
+
+    @Test
+    void sumsCountDeltasInsteadOfCoalescing() {
+        LoopbackInvalidationBroadcaster.Network network = new LoopbackInvalidationBroadcaster.Network();
+        LoopbackInvalidationBroadcaster nodeA = network.join();
+        LoopbackInvalidationBroadcaster nodeB = network.join();
+        List<List<InvalidationEvent>> receivedByB = new ArrayList<>();
+        nodeB.subscribe(receivedByB::add);
+
+        InvalidationPublisher publisher = new InvalidationPublisher(nodeA);
+        publisher.publishCountDeltaAfterCommit(1);
+        publisher.publishCountDeltaAfterCommit(1);
+        publisher.publishCountDeltaAfterCommit(-1);
+        publisher.publishCountDeltaAfterCommit(3);
+        publisher.flush();
+        assertThat(receivedByB).containsExactly(List.of(InvalidationEvent.boardCount(4)));
+
+        // 합이 0이면 보내지 않는다.
+        publisher.publishCountDeltaAfterCommit(2);
+        publisher.publishCountDeltaAfterCommit(-2);
+        publisher.flush();
+        assertThat(receivedByB).hasSize(1);
+    }
+
+    @Test
+    void keepsCountDeltaWhenBroadcastFails() {
+        List<List<InvalidationEvent>> sent = new ArrayList<>();
+        boolean[] fail = {true};
+        InvalidationPublisher publisher = new InvalidationPublisher(new InvalidationBroadcaster() {
+            @Override
+            public void broadcast(List<InvalidationEvent> events) {
+                if (fail[0]) {
+                    fail[0] = false;
+                    throw new IllegalStateException("db down");
+                }
+                sent.add(events);
+            }
+
+            @Override
+            public void subscribe(Consumer<List<InvalidationEvent>> listener) {
+            }
+        });
+        publisher.publishAfterCommit(InvalidationEvent.boardList());
+        publisher.publishCountDeltaAfterCommit(2);
+        assertThatThrownBy(publisher::flush).isInstanceOf(IllegalStateException.class);
+
+        publisher.publishCountDeltaAfterCommit(1);
+        publisher.flush();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).containsExactlyInAnyOrder(InvalidationEvent.boardList(), InvalidationEvent.boardCount(3));
+    }
+}
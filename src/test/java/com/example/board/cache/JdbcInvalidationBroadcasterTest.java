@@ -0,0 +1,113 @@
+package com.example.board.cache;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 H2 메모리 DB를 쓰는 두 노드로 변경 로그 테이블을 통한 전달을 확인한다.
+class JdbcInvalidationBroadcasterTest {
+    private static final long RETENTION_MS = 3_600_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcInvalidationBroadcaster nodeA;
+    private JdbcInvalidationBroadcaster nodeB;
+    private final List<List<InvalidationEvent>> receivedByA = new ArrayList<>();
+    private final List<List<InvalidationEvent>> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:invalidation" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        nodeA = new JdbcInvalidationBroadcaster(dataSource, RETENTION_MS);
+        nodeB = new JdbcInvalidationBroadcaster(dataSource, RETENTION_MS);
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+    }
+
+    @Test
+    void deliversOtherNodesEventsOnceAndSkipsOwnRows() {
+        nodeA.broadcast(List.of(InvalidationEvent.board(1), InvalidationEvent.boardList()));
+        nodeA.poll();
+        nodeB.poll();
+
+        assertThat(receivedByA).isEmpty();
+        assertThat(receivedByB).containsExactly(List.of(InvalidationEvent.board(1), InvalidationEvent.boardList()));
+
+        // 이미 읽은 행은 다시 전달하지 않고, 이후의 행만 전달한다.
+        nodeB.poll();
+        nodeA.broadcast(List.of(InvalidationEvent.userRoles(7)));
+        nodeB.poll();
+        assertThat(receivedByB).containsExactly(
+                List.of(InvalidationEvent.board(1), InvalidationEvent.boardList()),
+                List.of(InvalidationEvent.userRoles(7)));
+    }
+
+    @Test
+    void skipsUnknownEntities() {
+        insert(null, "newer-node", "COMMENT", 3, LocalDateTime.now());
+        nodeA.broadcast(List.of(InvalidationEvent.board(2)));
+        nodeB.poll();
+        nodeB.poll();
+
+        assertThat(receivedByB).containsExactly(List.of(InvalidationEvent.board(2)));
+    }
+
+    @Test
+    void redeliversAfterListenerFailure() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        nodeB.subscribe(events -> {
+            if (fail.getAndSet(false)) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+        nodeA.broadcast(List.of(InvalidationEvent.board(4)));
+        nodeB.poll();
+        nodeB.poll();
+        nodeB.poll();
+
+        // 첫 poll은 실패했으므로 같은 이벤트가 한 번 더 전달되고, 그 뒤로는 전달되지 않는다.
+        assertThat(receivedByB).containsExactly(List.of(InvalidationEvent.board(4)), List.of(InvalidationEvent.board(4)));
+    }
+
+    @Test
+    void picksUpRowCommittedAfterLargerId() {
+        insert(10L, "node-c", "BOARD", 10, LocalDateTime.now());
+        nodeB.poll();
+        // 먼저 받은 작은 id가 나중에 커밋된 경우
+        insert(5L, "node-c", "BOARD", 5, LocalDateTime.now());
+        nodeB.poll();
+        nodeB.poll();
+
+        assertThat(receivedByB).containsExactly(List.of(InvalidationEvent.board(10)), List.of(InvalidationEvent.board(5)));
+    }
+
+    @Test
+    void cleanupDeletesRowsOlderThanRetention() {
+        insert(null, "node-c", "BOARD", 1, LocalDateTime.now().minusHours(2));
+        insert(null, "node-c", "BOARD", 2, LocalDateTime.now());
+        nodeA.cleanup();
+
+        assertThat(jdbcTemplate.queryForList("select entity_id from board_invalidation", Integer.class)).containsExactly(2);
+    }
+
+    // 다른 노드가 쓴 행. id가 null이면 auto_increment
+    private void insert(Long id, String nodeId, String entity, int entityId, LocalDateTime createdAt) {
+        if (id == null) {
+            jdbcTemplate.update("insert into board_invalidation (node_id, entity, entity_id, created_at) values (?, ?, ?, ?)",
+                    nodeId, entity, entityId, Timestamp.valueOf(createdAt));
+        } else {
+            jdbcTemplate.update("insert into board_invalidation (id, node_id, entity, entity_id, created_at) values (?, ?, ?, ?, ?)",
+                    id, nodeId, entity, entityId, Timestamp.valueOf(createdAt));
+        }
+    }
+}
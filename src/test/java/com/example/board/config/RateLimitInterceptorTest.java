@@ -0,0 +1,73 @@
+package com.example.board.config;
+
+import com.example.board.dto.LoginInfo;
+import com.example.board.session.LoginInfoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// write 규칙 : 사용자/세션별 burst 2, IP별 burst 4 (shared-ip-factor 2)
+class RateLimitInterceptorTest {
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setWrite(new RateLimitProperties.Rule(0.001, 2));
+        properties.setSharedIpFactor(2);
+        interceptor = new RateLimitInterceptor(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void switchingAccountsDoesNotBypassSessionOrIpLimit() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        assertThat(write(1, session, "10.0.0.1")).isTrue();
+        assertThat(write(2, session, "10.0.0.1")).isTrue();
+        // 사용자 3은 처음이지만 같은 세션의 한도를 넘었다.
+        assertThat(write(3, session, "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void newSessionsDoNotBypassIpLimit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThat(write(null, new MockHttpSession(), "10.0.0.2")).isTrue();
+        }
+        assertThat(write(null, new MockHttpSession(), "10.0.0.2")).isFalse();
+        assertThat(write(null, null, "10.0.0.3")).isTrue();
+    }
+
+    @Test
+    void userLimitAppliesAcrossSessionsAndAddresses() throws Exception {
+        assertThat(write(7, new MockHttpSession(), "10.0.0.4")).isTrue();
+        assertThat(write(7, new MockHttpSession(), "10.0.0.5")).isTrue();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(7, new MockHttpSession(), "10.0.0.6"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+    }
+
+    private boolean write(Integer userId, MockHttpSession session, String ip) throws Exception {
+        MockHttpServletRequest request = request(userId, session, ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        return admitted;
+    }
+
+    private static MockHttpServletRequest request(Integer userId, MockHttpSession session, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/write");
+        request.setRemoteAddr(ip);
+        if (session != null) {
+            request.setSession(session);
+        }
+        if (userId != null) {
+            request.setAttribute(LoginInfoStore.ATTRIBUTE_NAME, new LoginInfo(userId, "u" + userId + "@example.com", "u" + userId));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.board.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// primary, replica 대신 H2 메모리 DB 두 개를 사용한다. 각 DB의 marker 테이블로 어느 쪽에서 읽었는지 확인한다.
+class ReadWriteRoutingDataSourceTest {
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("create table replica_lag (seconds bigint)");
+        new JdbcTemplate(replica).execute("insert into replica_lag values (0)");
+    }
+
+    private void route(String lagQuery) {
+        ReplicaPool replicaPool = new ReplicaPool(Map.of("replica-0", replica), lagQuery, 5);
+        replicaPool.checkHealth();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaPool));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        route(null);
+        assertThat(readOnlyTransaction.execute(status -> marker())).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionAndNoTransactionGoToPrimary() {
+        route(null);
+        assertThat(writeTransaction.execute(status -> marker())).isEqualTo("primary");
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        route("select seconds from replica_lag");
+        assertThat(readOnlyTransaction.execute(status -> marker())).isEqualTo("replica");
+
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 60");
+        route("select seconds from replica_lag");
+        assertThat(readOnlyTransaction.execute(status -> marker())).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        ReplicaPool replicaPool = new ReplicaPool(Map.of("replica-0", broken), null, 5);
+        replicaPool.checkHealth();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaPool));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        assertThat(readOnly.execute(status -> marker())).isEqualTo("primary");
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker values (?)", name);
+        return dataSource;
+    }
+}
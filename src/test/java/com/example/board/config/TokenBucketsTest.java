@@ -0,0 +1,84 @@
+package com.example.board.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketsTest {
+
+    @Test
+    void allowsBurstThenRejectsWithWaitTime() {
+        TokenBuckets buckets = new TokenBuckets(1, 5, 100);
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("user:1")).isZero();
+        }
+        long wait = buckets.tryAcquire("user:1");
+        // 다음 토큰은 1초 안에 채워진다.
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        // 거절된 요청은 토큰을 쓰지 않으므로 대기 시간이 늘어나지 않는다.
+        assertThat(buckets.tryAcquire("user:1")).isLessThanOrEqualTo(wait);
+        // key마다 따로 센다.
+        assertThat(buckets.tryAcquire("user:2")).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        TokenBuckets buckets = new TokenBuckets(20, 2, 100); // 50ms마다 1개
+        assertThat(buckets.tryAcquire("ip:a")).isZero();
+        assertThat(buckets.tryAcquire("ip:a")).isZero();
+        long wait = buckets.tryAcquire("ip:a");
+        assertThat(wait).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(buckets.tryAcquire("ip:a")).isZero();
+        assertThat(buckets.tryAcquire("ip:a")).isPositive();
+    }
+
+    @Test
+    void burstOfOneAllowsSingleRequest() {
+        TokenBuckets buckets = new TokenBuckets(1, 0, 100);
+        assertThat(buckets.tryAcquire("k")).isZero();
+        assertThat(buckets.tryAcquire("k")).isPositive();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedBurst() throws Exception {
+        int burst = 50;
+        // 테스트 중에는 토큰이 다시 채워지지 않을 만큼 느린 속도
+        TokenBuckets buckets = new TokenBuckets(0.001, burst, 100);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (buckets.tryAcquire("shared") == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+            int admitted = 0;
+            for (Future<Integer> result : results) {
+                admitted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(admitted).isEqualTo(burst);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.board.controller;
+
+import com.example.board.dto.Board;
+import com.example.board.dto.LoginInfo;
+import com.example.board.service.BoardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// BoardService는 mock으로 두고, 입력이 chunk 단위로 나뉘는지와 NDJSON/CSV 형식을 확인한다.
+class BoardBulkControllerTest {
+    private static final int CHUNK_SIZE = 2;
+
+    private BoardService boardService;
+    private BoardBulkController controller;
+    private LoginInfo admin;
+    private final List<List<Board>> importedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        boardService = mock(BoardService.class);
+        when(boardService.importBoards(anyList())).thenAnswer(invocation -> {
+            List<Board> chunk = invocation.getArgument(0);
+            importedChunks.add(chunk);
+            return chunk.size();
+        });
+        controller = new BoardBulkController(boardService, new ObjectMapper().registerModule(new JavaTimeModule()), CHUNK_SIZE);
+        admin = new LoginInfo(1, "admin@example.com", "admin");
+        admin.getRoles().add("ROLE_ADMIN");
+    }
+
+    @Test
+    void importsNdjsonInChunks() throws Exception {
+        String body = "{\"userId\":1,\"title\":\"t1\"}\n"
+                + "{\"userId\":1,\"title\":\"t2\"}\n"
+                + "\n"
+                + "{\"userId\":2,\"title\":\"t3\",\"regdate\":\"2023-01-01T10:00:00\"}\n"
+                + "{\"userId\":2,\"title\":\"t4\"}\n"
+                + "{\"userId\":3,\"title\":\"t5\",\"viewCnt\":7}\n";
+
+        assertThat(controller.importBoards(request("application/x-ndjson", body), admin).getBody()).containsEntry("imported", 5);
+        assertThat(importedChunks).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(titles()).containsExactly("t1", "t2", "t3", "t4", "t5");
+        assertThat(importedChunks.get(1).get(0).getRegdate()).isEqualTo(LocalDateTime.of(2023, 1, 1, 10, 0));
+        assertThat(importedChunks.get(2).get(0).getViewCnt()).isEqualTo(7);
+    }
+
+    @Test
+    void importsCsvWithQuotedFieldsAndHeaderOrder() throws Exception {
+        String body = "title,content,userId\r\n"
+                + "\"쉼표, 포함\",\"첫 줄\n\"\"둘째\"\" 줄\",1\r\n"
+                + "t2,,2\r\n"
+                + "t3,c3,3";
+
+        assertThat(controller.importCsvBoards(request("text/csv", body), admin).getBody()).containsEntry("imported", 3);
+        assertThat(importedChunks).extracting(List::size).containsExactly(2, 1);
+        Board first = importedChunks.get(0).get(0);
+        assertThat(first.getTitle()).isEqualTo("쉼표, 포함");
+        assertThat(first.getContent()).isEqualTo("첫 줄\n\"둘째\" 줄");
+        assertThat(first.getUserId()).isEqualTo(1);
+        assertThat(importedChunks.get(0).get(1).getContent()).isNull();
+        assertThat(importedChunks.get(1).get(0).getUserId()).isEqualTo(3);
+    }
+
+    @Test
+    void reportsLineNumberAndImportedCountOfInvalidRecord() {
+        // 두 번째 레코드의 내용이 두 줄이므로 세 번째 레코드는 5번째 줄에서 시작한다.
+        String body = "userId,title,content\n"
+                + "1,t1,c1\n"
+                + "1,t2,\"여러\n줄\"\n"
+                + "x,t3,c3\n";
+
+        assertThatThrownBy(() -> controller.importCsvBoards(request("text/csv", body), admin))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("line 5")
+                .hasMessageContaining("2건 등록됨");
+        assertThat(titles()).containsExactly("t1", "t2");
+    }
+
+    @Test
+    void rejectsCsvWithoutRequiredHeader() {
+        assertThatThrownBy(() -> controller.importCsvBoards(request("text/csv", "title,content\nt1,c1\n"), admin))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("userId");
+        assertThat(importedChunks).isEmpty();
+    }
+
+    @Test
+    void importRequiresAdmin() {
+        LoginInfo user = new LoginInfo(2, "user@example.com", "user");
+        assertThatThrownBy(() -> controller.importBoards(request("application/x-ndjson", "{\"userId\":1,\"title\":\"t1\"}"), user))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(importedChunks).isEmpty();
+    }
+
+    @Test
+    void exportsNdjsonByDefaultAndCsvWhenAccepted() throws Exception {
+        exportBoards(board(1, "t1", "c1"), board(2, "쉼표, \"따옴표\"", "여러\n줄"));
+
+        String ndjson = export("*/*");
+        assertThat(ndjson.split("\n")).hasSize(2);
+        assertThat(ndjson).contains("\"boardId\":1").contains("\"boardId\":2");
+
+        String csv = export("text/csv");
+        assertThat(csv).startsWith("boardId,userId,name,title,content,regdate,viewCnt\r\n1,1,name1,t1,c1,2023-01-01T10:00,0\r\n");
+        assertThat(csv).contains("2,2,name2,\"쉼표, \"\"따옴표\"\"\",\"여러\n줄\",2023-01-01T10:00,0\r\n");
+
+        // 내보낸 CSV를 그대로 다시 가져올 수 있다.
+        controller.importCsvBoards(request("text/csv", csv), admin);
+        assertThat(titles()).containsExactly("t1", "쉼표, \"따옴표\"");
+        assertThat(importedChunks.get(0).get(1).getContent()).isEqualTo("여러\n줄");
+        assertThat(importedChunks.get(0).get(1).getRegdate()).isEqualTo(LocalDateTime.of(2023, 1, 1, 10, 0));
+    }
+
+    private String export(String accept) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        controller.exportBoards(accept, admin).getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportBoards(Board... boards) {
+        doAnswer(invocation -> {
+            Consumer<Board> consumer = invocation.getArgument(0);
+            for (Board board : boards) {
+                consumer.accept(board);
+            }
+            return null;
+        }).when(boardService).exportBoards(any(Consumer.class));
+    }
+
+    private static Board board(int id, String title, String content) {
+        Board board = new Board();
+        board.setBoardId(id);
+        board.setUserId(id);
+        board.setName("name" + id);
+        board.setTitle(title);
+        board.setContent(content);
+        board.setRegdate(LocalDateTime.of(2023, 1, 1, 10, 0));
+        return board;
+    }
+
+    private static MockHttpServletRequest request(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/boards/import");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private List<String> titles() {
+        return importedChunks.stream().flatMap(List::stream).map(Board::getTitle).collect(Collectors.toList());
+    }
+}
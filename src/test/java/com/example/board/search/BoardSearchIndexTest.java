@@ -0,0 +1,85 @@
+package com.example.board.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardSearchIndexTest {
+    private BoardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BoardSearchIndex();
+    }
+
+    @Test
+    void tokenizesWordsAndHangulBigrams() {
+        assertThat(BoardSearchIndex.queryTerms("Spring Boot, 게시판을 만들자 2023"))
+                .containsExactly("spring", "boot", "게시", "시판", "판을", "만들", "들자", "2023");
+        // 색인할 때는 한 글자 검색을 위해 한글 글자도 넣는다.
+        assertThat(BoardSearchIndex.indexTerms("게시판 글"))
+                .containsExactlyInAnyOrder("게시", "시판", "게", "시", "판", "글");
+        assertThat(BoardSearchIndex.queryTerms(" ,.! ")).isEmpty();
+        assertThat(BoardSearchIndex.queryTerms(null)).isEmpty();
+    }
+
+    @Test
+    void findsBoardsContainingAllTerms() {
+        index.index(1, "스프링 게시판", "spring boot");
+        index.index(2, "게시판 만들기", "jdbc");
+        index.index(3, "공지", "Spring 게시판입니다");
+
+        assertThat(index.search("게시판", 1, 10).getBoardIds()).containsExactly(3, 2, 1);
+        assertThat(index.search("spring 게시판", 1, 10).getBoardIds()).containsExactly(3, 1);
+        // 조사가 붙은 글도 찾는다.
+        assertThat(index.search("게시판 spring", 1, 10).getBoardIds()).containsExactly(3, 1);
+        assertThat(index.search("없는단어", 1, 10).getTotalCount()).isZero();
+    }
+
+    @Test
+    void findsSingleHangulCharacter() {
+        index.index(1, "게시판", null);
+        index.index(2, "공지", null);
+
+        assertThat(index.search("판", 1, 10).getBoardIds()).containsExactly(1);
+        assertThat(index.search("공", 1, 10).getBoardIds()).containsExactly(2);
+    }
+
+    @Test
+    void removeAndReindexReplaceOldTerms() {
+        index.index(1, "old title", "old content");
+        index.index(2, "old", null);
+
+        index.index(1, "new title", null);
+        assertThat(index.search("old", 1, 10).getBoardIds()).containsExactly(2);
+        assertThat(index.search("new", 1, 10).getBoardIds()).containsExactly(1);
+        assertThat(index.size()).isEqualTo(2);
+
+        index.remove(2);
+        index.remove(3); // 없는 글
+        assertThat(index.search("old", 1, 10).getTotalCount()).isZero();
+        assertThat(index.size()).isEqualTo(1);
+
+        index.clear();
+        assertThat(index.search("new", 1, 10).getTotalCount()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void pagesNewestFirst() {
+        for (int boardId = 1; boardId <= 25; boardId++) {
+            index.index(boardId, "page test", null);
+        }
+        // 중간에 끼어드는 id도 정렬된 위치에 들어간다.
+        index.remove(10);
+        index.index(10, "page test", null);
+
+        SearchResult first = index.search("page", 1, 10);
+        assertThat(first.getTotalCount()).isEqualTo(25);
+        assertThat(first.getBoardIds()).containsExactly(25, 24, 23, 22, 21, 20, 19, 18, 17, 16);
+        assertThat(index.search("page", 3, 10).getBoardIds()).containsExactly(5, 4, 3, 2, 1);
+        assertThat(index.search("page", 4, 10).getBoardIds()).isEmpty();
+        assertThat(index.search("page", 0, 10).getBoardIds()).isEqualTo(first.getBoardIds());
+    }
+}
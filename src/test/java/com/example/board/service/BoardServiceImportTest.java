@@ -0,0 +1,90 @@
+package com.example.board.service;
+
+import com.example.board.cache.BoardCache;
+import com.example.board.cache.BoardCountCache;
+import com.example.board.cache.BoardListSnapshot;
+import com.example.board.cache.BoardVersions;
+import com.example.board.cache.InvalidationEvent;
+import com.example.board.cache.InvalidationPublisher;
+import com.example.board.cache.ViewCountBuffer;
+import com.example.board.dao.BoardDao;
+import com.example.board.dto.Board;
+import com.example.board.search.BoardSearchIndex;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// H2(MySQL 모드)의 board 테이블로 일괄 등록 후 색인과 스트리밍 내보내기를 확인한다. 캐시는 mock
+// H2는 MySQL이 아니므로 StreamingQuery는 양수 fetchSize로 읽는다.
+class BoardServiceImportTest {
+    private BoardDao boardDao;
+    private BoardSearchIndex boardSearchIndex;
+    private InvalidationPublisher invalidationPublisher;
+    private BoardService boardService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:board" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table user (user_id int not null auto_increment primary key, email varchar(255) not null, "
+                + "name varchar(50) not null, password varchar(100) not null, regdate timestamp)");
+        jdbcTemplate.execute("create table board (board_id int not null auto_increment primary key, title varchar(100) not null, "
+                + "content text, user_id int not null, regdate timestamp, view_cnt int not null default 0)");
+        jdbcTemplate.update("insert into user (user_id, email, name, password) values (1, 'a@example.com', 'alice', 'x')");
+
+        boardDao = new BoardDao(dataSource);
+        boardSearchIndex = new BoardSearchIndex();
+        invalidationPublisher = mock(InvalidationPublisher.class);
+        boardService = new BoardService(boardDao, mock(BoardCache.class), mock(BoardCountCache.class), mock(BoardListSnapshot.class),
+                mock(ViewCountBuffer.class), boardSearchIndex, mock(BoardVersions.class), invalidationPublisher);
+    }
+
+    @Test
+    void importIndexesOnlyImportedBoards() {
+        int existing = boardDao.addBoard(1, "existing", "before import");
+
+        // 트랜잭션 밖이므로 커밋 후 작업(색인)이 바로 실행된다.
+        assertThat(boardService.importBoards(boards(3, "imported"))).isEqualTo(3);
+
+        assertThat(boardService.search("imported", 1, 10).getTotalCount()).isEqualTo(3);
+        assertThat(boardService.search("imported", 1, 10).getBoardIds()).doesNotContain(existing);
+        // 가져오기 전에 있던 글은 다시 색인하지 않는다.
+        assertThat(boardSearchIndex.size()).isEqualTo(3);
+        verify(invalidationPublisher).publishAfterCommit(InvalidationEvent.boardsAfter(existing));
+    }
+
+    @Test
+    void exportStreamsAllBoardsInOrderWithNames() {
+        // StreamingQuery의 fetchSize(1000)보다 많이 넣는다.
+        boardService.importBoards(boards(2500, "bulk"));
+
+        List<Board> exported = new ArrayList<>();
+        boardService.exportBoards(exported::add);
+
+        assertThat(exported).hasSize(2500);
+        assertThat(exported).extracting(Board::getBoardId).isSorted();
+        assertThat(exported).extracting(Board::getName).containsOnly("alice");
+        assertThat(exported.get(0).getContent()).isEqualTo("bulk content 0");
+    }
+
+    private static List<Board> boards(int count, String title) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Board board = new Board();
+            board.setUserId(1);
+            board.setTitle(title + " " + i);
+            board.setContent(title + " content " + i);
+            return board;
+        }).collect(Collectors.toList());
+    }
+}
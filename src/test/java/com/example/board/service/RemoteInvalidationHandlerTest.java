@@ -0,0 +1,112 @@
+package com.example.board.service;
+
+import com.example.board.cache.BoardCache;
+import com.example.board.cache.BoardCountCache;
+import com.example.board.cache.BoardListSnapshot;
+import com.example.board.cache.BoardVersions;
+import com.example.board.cache.InvalidationEvent;
+import com.example.board.cache.JdbcInvalidationBroadcaster;
+import com.example.board.cache.UserRoleCache;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 노드 A가 쓴 무효화 이벤트를 노드 B의 핸들러가 jdbc 변경 로그에서 읽어서 반영한다. 캐시와 서비스는 mock
+class RemoteInvalidationHandlerTest {
+    private JdbcInvalidationBroadcaster nodeA;
+    private JdbcInvalidationBroadcaster nodeB;
+    private BoardService boardService;
+    private BoardCache boardCache;
+    private UserRoleCache userRoleCache;
+    private BoardCountCache boardCountCache;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:remote" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        nodeA = new JdbcInvalidationBroadcaster(dataSource, 3_600_000);
+        nodeB = new JdbcInvalidationBroadcaster(dataSource, 3_600_000);
+        boardService = mock(BoardService.class);
+        boardCache = mock(BoardCache.class);
+        userRoleCache = mock(UserRoleCache.class);
+        boardCountCache = mock(BoardCountCache.class);
+        new RemoteInvalidationHandler(nodeB, boardService, boardCache, boardCountCache, mock(BoardListSnapshot.class),
+                mock(BoardVersions.class), userRoleCache, new DataSourceTransactionManager(dataSource)).subscribe();
+    }
+
+    @Test
+    void failedBatchIsRedeliveredOnNextPoll() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(boardService).reindexBoard(5);
+        nodeA.broadcast(List.of(InvalidationEvent.board(5), InvalidationEvent.userRoles(7)));
+
+        nodeB.poll();
+        // 실패한 이벤트 뒤의 이벤트도 반영한다.
+        verify(boardService, times(1)).reindexBoard(5);
+        verify(userRoleCache, times(1)).invalidateAfterCommit(7);
+
+        nodeB.poll();
+        verify(boardService, times(2)).reindexBoard(5);
+        verify(boardCache, times(2)).invalidateAfterCommit(5);
+        verify(userRoleCache, times(2)).invalidateAfterCommit(7);
+
+        // 성공한 뒤에는 다시 전달하지 않는다.
+        nodeB.poll();
+        verify(boardService, times(2)).reindexBoard(5);
+    }
+
+    @Test
+    void countDeltaIsAppliedOnceEvenWhenBatchIsRedelivered() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(boardService).reindexBoard(9);
+        nodeA.broadcast(List.of(InvalidationEvent.board(9), InvalidationEvent.boardList(), InvalidationEvent.boardCount(2)));
+
+        nodeB.poll();
+        verify(boardCountCache, never()).adjustAfterCommit(anyInt());
+
+        nodeB.poll();
+        nodeB.poll();
+        verify(boardCountCache, times(1)).adjustAfterCommit(2);
+        // 원격 이벤트로는 count(*)를 다시 읽지 않는다.
+        verify(boardCountCache, never()).reconcile();
+    }
+
+    @Test
+    void reloadsRunInReadWriteTransactionSoTheyReadPrimary() {
+        // readOnly 트랜잭션이면 ReadWriteRoutingDataSource가 replica로 보낸다.
+        List<Boolean> readWrite = new ArrayList<>();
+        doAnswer(invocation -> {
+            readWrite.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return null;
+        }).when(boardService).reindexBoard(4);
+        nodeA.broadcast(List.of(InvalidationEvent.board(4)));
+
+        nodeB.poll();
+        assertThat(readWrite).containsExactly(true);
+    }
+
+    @Test
+    void successfulBatchIsDeliveredOnce() {
+        doNothing().when(boardService).reindexBoard(3);
+        nodeA.broadcast(List.of(InvalidationEvent.board(3)));
+
+        nodeB.poll();
+        nodeB.poll();
+        verify(boardService, times(1)).reindexBoard(3);
+        verify(boardCache, times(1)).invalidateAfterCommit(3);
+    }
+}
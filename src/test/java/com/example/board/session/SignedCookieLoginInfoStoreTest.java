@@ -0,0 +1,126 @@
+package com.example.board.session;
+
+import com.example.board.dto.LoginInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.Cookie;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignedCookieLoginInfoStoreTest {
+    private static final String SECRET = "test-secret-0123456789abcdef0123456789";
+
+    private final SignedCookieLoginInfoStore store = new SignedCookieLoginInfoStore(SECRET, 3600, false);
+
+    @Test
+    void roundTripsThroughCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        store.save(new MockHttpServletRequest(), response, loginInfo());
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith("BOARD_LOGIN=").contains("HttpOnly").contains("SameSite=Lax");
+        String token = setCookie.substring("BOARD_LOGIN=".length(), setCookie.indexOf(';'));
+
+        LoginInfo loaded = store.load(requestWithCookie(token));
+        assertThat(loaded.getUserId()).isEqualTo(7);
+        assertThat(loaded.getEmail()).isEqualTo("kim@example.com");
+        // 구분자(|, ,)가 들어간 값도 그대로 돌아온다.
+        assertThat(loaded.getName()).isEqualTo("김|철수, 주니어");
+        assertThat(loaded.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void roundTripsWithoutRoles() {
+        LoginInfo loginInfo = new LoginInfo(1, "a@example.com", "a");
+        assertThat(store.decode(store.encode(loginInfo)).getRoles()).isEmpty();
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = store.encode(loginInfo());
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        // 다른 회원으로 바꾸고 서명은 그대로 둔다.
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.replaceFirst("^7\\|", "1|").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(store.decode(forged + token.substring(token.indexOf('.')))).isNull();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = store.encode(loginInfo());
+        // 서명의 첫 글자를 바꾼다. (마지막 글자는 버려지는 비트가 있어서 바꿔도 같은 값으로 디코딩될 수 있다)
+        int signatureStart = token.indexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+
+        assertThat(store.decode(tampered)).isNull();
+        assertThat(store.decode(token.substring(0, token.indexOf('.') + 1))).isNull(); // 서명 없음
+        assertThat(store.decode(token.substring(0, token.indexOf('.')))).isNull(); // 구분자 없음
+    }
+
+    @Test
+    void rejectsExpiredCookie() {
+        SignedCookieLoginInfoStore expired = new SignedCookieLoginInfoStore(SECRET, -1, false);
+        assertThat(expired.decode(expired.encode(loginInfo()))).isNull();
+    }
+
+    @Test
+    void rejectsCookieSignedWithOtherKey() {
+        SignedCookieLoginInfoStore otherNode = new SignedCookieLoginInfoStore("another-secret-0123456789abcdef", 3600, false);
+        assertThat(store.decode(otherNode.encode(loginInfo()))).isNull();
+        // secret이 없으면 임의의 키를 쓰므로 다른 인스턴스의 쿠키도 받지 않는다.
+        assertThat(new SignedCookieLoginInfoStore("", 3600, false).decode(store.encode(loginInfo()))).isNull();
+    }
+
+    @Test
+    void rejectsMalformedBase64() {
+        assertThat(store.decode("!!!.???")).isNull();
+        assertThat(store.decode("")).isNull();
+        String token = store.encode(loginInfo());
+        assertThat(store.decode(token.replace('.', '*'))).isNull();
+        assertThat(store.decode("%%" + token)).isNull();
+    }
+
+    @Test
+    void badCookieMeansLoggedOut() throws Exception {
+        String token = store.encode(loginInfo());
+        LoginInfoFilter filter = new LoginInfoFilter(store);
+
+        for (String value : List.of(token.substring(1), "garbage", token + "x")) {
+            MockHttpServletRequest request = requestWithCookie(value);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            assertThat(request.getAttribute(LoginInfoStore.ATTRIBUTE_NAME)).isNull();
+        }
+
+        MockHttpServletRequest request = requestWithCookie(token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(request.getAttribute(LoginInfoStore.ATTRIBUTE_NAME)).isInstanceOf(LoginInfo.class);
+    }
+
+    @Test
+    void clearExpiresCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        store.clear(new MockHttpServletRequest(), response);
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith("BOARD_LOGIN=;").contains("Max-Age=0");
+    }
+
+    private static LoginInfo loginInfo() {
+        LoginInfo loginInfo = new LoginInfo(7, "kim@example.com", "김|철수, 주니어");
+        loginInfo.getRoles().add("ROLE_USER");
+        loginInfo.getRoles().add("ROLE_ADMIN");
+        return loginInfo;
+    }
+
+    private static MockHttpServletRequest requestWithCookie(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("BOARD_LOGIN", value));
+        return request;
+    }
+}